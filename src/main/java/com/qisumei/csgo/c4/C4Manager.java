@@ -6,19 +6,19 @@ import com.qisumei.csgo.c4.task.C4DefuseTask;
 import com.qisumei.csgo.c4.task.C4TickTask;
 import com.qisumei.csgo.game.Match;
 import com.qisumei.csgo.game.MatchContext;
+import com.qisumei.csgo.game.Team;
+import com.qisumei.csgo.service.ServiceFallbacks;
 import net.minecraft.ChatFormatting;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
 import java.util.Random;
-import java.util.UUID;
 
 /**
  * C4管理器，作为C4功能的总调度者。
@@ -33,6 +33,8 @@ public class C4Manager implements C4Controller {
     // C4 核心状态
     private boolean isPlanted = false;
     private BlockPos c4Pos;
+    // 掉落在地上的 C4 物品实体，由掉落/实体加入/实体离开事件维护，不再逐 tick 搜索世界
+    private ItemEntity droppedC4;
 
     public C4Manager(MatchContext context) {
         this.context = context;
@@ -45,7 +47,7 @@ public class C4Manager implements C4Controller {
      * 每服务器 tick 调用
      */
     public void tick() {
-        countdownHandler.tick();
+        // C4 倒计时已注册到比赛的时间轮调度器，这里只处理掉落C4的逐 tick 逻辑
         tickTask.tick();
     }
 
@@ -65,17 +67,29 @@ public class C4Manager implements C4Controller {
         if (isPlanted && c4Pos != null && context != null && context.getServer() != null) {
             context.getServer().overworld().removeBlock(c4Pos, false);
         }
+        // 方块移除（以及由此触发的 C4Block.onRemove）完成后再撤销位置索引
+        if (c4Pos != null && context instanceof Match match) {
+            ServiceFallbacks.unindexC4(c4Pos, match);
+        }
         countdownHandler.stop();
         defuseTask.reset();
         this.isPlanted = false;
         this.c4Pos = null;
+        this.droppedC4 = null;
     }
 
     // --- 核心事件处理 ---
 
     public void onC4Planted(BlockPos pos) {
+        if (this.c4Pos != null && context instanceof Match previous) {
+            ServiceFallbacks.unindexC4(this.c4Pos, previous);
+        }
         this.isPlanted = true;
         this.c4Pos = pos;
+        // 登记C4位置，供 C4Block.onRemove 以 O(1) 找到所属比赛
+        if (context instanceof Match match) {
+            ServiceFallbacks.indexC4(pos, match);
+        }
         countdownHandler.start(pos);
 
         String siteName = "包点";
@@ -89,12 +103,52 @@ public class C4Manager implements C4Controller {
         context.broadcastToAllPlayersInMatch(message);
     }
 
+    /**
+     * 记录掉落在地上的 C4 物品实体（玩家死亡、被强制丢弃或主动丢出时）。
+     */
+    public void onC4Dropped(ItemEntity item) {
+        this.droppedC4 = item;
+    }
+
+    /**
+     * 实体离开世界（被拾取、清理或卸载）时调用；若正是记录的掉落 C4 则清除记录。
+     */
+    public void onEntityRemoved(Entity entity) {
+        if (entity == this.droppedC4) {
+            this.droppedC4 = null;
+        }
+    }
+
+    /**
+     * @return 掉落在地上的 C4 物品实体，没有时返回 null
+     */
+    public ItemEntity getDroppedC4() {
+        ItemEntity item = this.droppedC4;
+        if (item != null && item.isRemoved()) {
+            this.droppedC4 = null;
+            return null;
+        }
+        return item;
+    }
+
+    /**
+     * @return 物品是否为 C4；C4 物品未注册时返回 false
+     */
+    public static boolean isC4(ItemStack stack) {
+        if (stack.isEmpty()) return false;
+        try {
+            return stack.is(QisCSGO.C4_ITEM.get());
+        } catch (Throwable t) {
+            return false;
+        }
+    }
+
     public void onC4Defused(ServerPlayer defuser) {
         if (context.getRoundState() == Match.RoundState.IN_PROGRESS) {
             countdownHandler.stop();
             defuseTask.reset();
             context.broadcastToAllPlayersInMatch(Component.literal("§b" + (defuser != null ? defuser.getName().getString() : "CT") + " §f已成功拆除炸弹！"));
-            context.endRound("CT", "炸弹已被拆除");
+            context.endRound(Team.CT, "炸弹已被拆除");
         }
     }
 
@@ -102,7 +156,7 @@ public class C4Manager implements C4Controller {
         if (c4Pos != null) {
             applyCustomExplosionDamage(c4Pos);
         }
-        context.endRound("T", "炸弹已爆炸");
+        context.endRound(Team.T, "炸弹已爆炸");
     }
 
     /**
@@ -125,13 +179,9 @@ public class C4Manager implements C4Controller {
         }
 
         // 获取所有在线的 T 队玩家
-        List<ServerPlayer> tPlayers = context.getPlayerStats().entrySet().stream()
-            .filter(e -> "T".equals(e.getValue().getTeam()))
-            .map(e -> context.getServer().getPlayerList().getPlayer(e.getKey()))
-            .filter(Objects::nonNull)
-            .toList(); 
+        ServerPlayer[] tPlayers = context.getRoster().getTeamPlayers(Team.T);
 
-        if (tPlayers.isEmpty()) {
+        if (tPlayers.length == 0) {
             QisCSGO.LOGGER.warn("没有在线的 T 队玩家可以接收 C4");
             return;
         }
@@ -150,7 +200,7 @@ public class C4Manager implements C4Controller {
         }
 
         // 随机选择一名 T 队玩家并发放 C4
-        ServerPlayer playerWithC4 = tPlayers.get(new Random().nextInt(tPlayers.size()));
+        ServerPlayer playerWithC4 = tPlayers[new Random().nextInt(tPlayers.length)];
         try {
             playerWithC4.getInventory().add(new ItemStack(c4Item));
             playerWithC4.sendSystemMessage(Component.literal("§e你携带了C4炸弹！").withStyle(ChatFormatting.BOLD));
@@ -170,9 +220,9 @@ public class C4Manager implements C4Controller {
 
         DamageSource damageSource = context.getServer().overworld().damageSources().genericKill();
 
-        for (UUID playerUUID : new ArrayList<>(context.getAlivePlayers())) {
-            ServerPlayer player = context.getServer().getPlayerList().getPlayer(playerUUID);
-            if (player == null || !player.isAlive()) continue;
+        // 遍历名单快照：伤害可能导致玩家死亡并修改存活集合
+        for (ServerPlayer player : context.getRoster().getOnlinePlayers()) {
+            if (!context.getAlivePlayers().contains(player.getUUID()) || !player.isAlive()) continue;
 
             double distanceSq = player.distanceToSqr(explosionX, explosionY, explosionZ);
 
@@ -1,7 +1,7 @@
 package com.qisumei.csgo.c4.block;
 
 import com.qisumei.csgo.game.Match;
-import com.qisumei.csgo.game.MatchManager;
+import com.qisumei.csgo.service.ServiceFallbacks;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.level.BlockGetter;
 import net.minecraft.world.level.Level;
@@ -59,7 +59,7 @@ public class C4Block extends Block {
             // 在服务端执行
             if (!world.isClientSide()) {
                 // 根据C4的位置找到对应的比赛
-                Match match = MatchManager.getMatchFromC4Pos(pos);
+                Match match = ServiceFallbacks.getMatchFromC4Pos(pos);
                 if (match != null) {
                     // 修改：通过C4Manager处理C4拆除逻辑
                     // 注意：这里我们无法直接获取拆弹玩家，因为C4Block的onRemove不包含玩家上下文
@@ -3,6 +3,7 @@ package com.qisumei.csgo.c4.handler;
 import com.qisumei.csgo.c4.C4Manager;
 import com.qisumei.csgo.c4.sound.ModSounds;
 import com.qisumei.csgo.game.MatchContext;
+import com.qisumei.csgo.game.MatchScheduler;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.MinecraftServer;
@@ -10,15 +11,19 @@ import net.minecraft.sounds.SoundSource;
 
 /**
  * C4倒计时处理器，用于管理C4炸弹的倒计时逻辑、声音播放和广播提示。
- * 现在由C4Manager统一管理，实现更好的模块化。
+ * 爆炸、提示音与10秒警告都注册为比赛时间轮调度器中的定时任务，不再逐 tick 递减计数。
  */
 public class C4CountdownHandler {
+    /** C4 引信时长（tick），Boss栏倒计时也以此为总长 */
+    public static final int FUSE_TICKS = 40 * 20; // 40秒
+    private static final int WARNING_TICKS = 10 * 20;
+
     private final C4Manager c4Manager;
     private final MatchContext context;
     private BlockPos c4Pos;
-    private int ticksLeft;
-    private int nextBeepTick;
-    private boolean announced10;
+    private MatchScheduler.Task explosionTask;
+    private MatchScheduler.Task warningTask;
+    private MatchScheduler.Task beepTask;
     private boolean isActive = false;
 
     /**
@@ -37,14 +42,19 @@ public class C4CountdownHandler {
      * @param pos C4炸弹的位置
      */
     public void start(BlockPos pos) {
+        stop();
         this.c4Pos = pos;
-        this.ticksLeft = 40 * 20; // 40秒
-        this.nextBeepTick = ticksLeft - calculateNextInterval(ticksLeft);
-        this.announced10 = false;
         this.isActive = true;
 
-        // 广播炸弹安放警告
         if (context != null) {
+            MatchScheduler scheduler = context.getScheduler();
+            // 先注册爆炸任务：与提示音同一 tick 到期时爆炸优先执行
+            this.explosionTask = scheduler.schedule(FUSE_TICKS, this::explode);
+            this.warningTask = scheduler.schedule(FUSE_TICKS - WARNING_TICKS,
+                () -> context.broadcastToAllPlayersInMatch(Component.literal("§e[警告] 10秒后爆炸！")));
+            scheduleNextBeep(FUSE_TICKS);
+
+            // 广播炸弹安放警告
             context.broadcastToAllPlayersInMatch(Component.literal("§c[警报] 炸弹已安放！"));
         }
         playBeepSound();
@@ -56,34 +66,31 @@ public class C4CountdownHandler {
     public void stop() {
         this.isActive = false;
         this.c4Pos = null;
+        if (explosionTask != null) explosionTask.cancel();
+        if (warningTask != null) warningTask.cancel();
+        if (beepTask != null) beepTask.cancel();
     }
 
     /**
-     * 每tick调用一次，更新倒计时状态并处理相关逻辑。
+     * 倒计时结束，触发爆炸。
      */
-    public void tick() {
-        if (!isActive) return;
-
-        ticksLeft--;
-
-        // 倒计时结束，触发爆炸
-        if (ticksLeft <= 0) {
-            c4Manager.onC4Exploded();
-            stop();
-            return;
-        }
+    private void explode() {
+        c4Manager.onC4Exploded();
+        stop();
+    }
 
-        // 判断是否需要播放提示音
-        if (ticksLeft <= nextBeepTick) {
+    /**
+     * 根据剩余时间安排下一次提示音，提示音任务执行后会继续安排下一次，直到倒计时结束。
+     *
+     * @param remainingTicks 当前剩余的 tick 数
+     */
+    private void scheduleNextBeep(int remainingTicks) {
+        if (context == null) return;
+        int interval = calculateNextInterval(remainingTicks);
+        this.beepTask = context.getScheduler().schedule(interval, () -> {
             playBeepSound();
-            nextBeepTick = ticksLeft - calculateNextInterval(ticksLeft);
-        }
-
-        // 倒计时剩余10秒时广播警告
-        if (!announced10 && ticksLeft <= 10 * 20) {
-            if (context != null) context.broadcastToAllPlayersInMatch(Component.literal("§e[警告] 10秒后爆炸！"));
-            announced10 = true;
-        }
+            scheduleNextBeep(getTicksLeft());
+        });
     }
 
     /**
@@ -103,7 +110,7 @@ public class C4CountdownHandler {
      * @return 下一次提示音播放的时间间隔（tick）
      */
     private static int calculateNextInterval(int remainingTicks) {
-        float progress = 1.0f - (remainingTicks / (40.0f * 20.0f));
+        float progress = 1.0f - (remainingTicks / (float) FUSE_TICKS);
         if (progress > 0.85) return 5;
         if (progress > 0.6) return 10;
         return Math.max(15, (int)(40 * (1 - progress * 0.7f)));
@@ -111,9 +118,16 @@ public class C4CountdownHandler {
 
     /**
      * 获取C4剩余的倒计时 tick 数。
-     * @return 剩余 tick 数
+     * @return 剩余 tick 数，倒计时未进行时返回 0
      */
     public int getTicksLeft() {
-        return this.ticksLeft;
+        return explosionTask != null ? explosionTask.getTicksRemaining() : 0;
+    }
+
+    /**
+     * @return 倒计时是否正在进行
+     */
+    public boolean isActive() {
+        return this.isActive;
     }
-}
\ No newline at end of file
+}
@@ -5,6 +5,7 @@ import com.qisumei.csgo.QisCSGO;
 import com.qisumei.csgo.game.Match;
 import com.qisumei.csgo.game.MatchManager;
 import com.qisumei.csgo.game.PlayerStats;
+import com.qisumei.csgo.game.Team;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -49,7 +50,7 @@ public class C4Item extends Item {
                 return InteractionResultHolder.fail(stack);
             }
             PlayerStats stats = match.getPlayerStats().get(sp.getUUID());
-            if (stats == null || !"T".equals(stats.getTeam())) {
+            if (stats == null || stats.getTeam() != Team.T) {
                 sp.sendSystemMessage(Component.literal("§c只有恐怖分子(T)才能安放C4！"));
                 return InteractionResultHolder.fail(stack);
             }
@@ -3,6 +3,7 @@ package com.qisumei.csgo.c4.task;
 import com.qisumei.csgo.c4.C4Manager;
 import com.qisumei.csgo.game.MatchContext;
 import com.qisumei.csgo.game.PlayerStats;
+import com.qisumei.csgo.game.Team;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.item.Items;
@@ -39,7 +40,7 @@ public class C4DefuseTask {
     public void handlePlayerDefuseTick(ServerPlayer player) {
         // 仅当C4已安放且玩家是CT时才执行
         PlayerStats ps = getPlayerStats(player);
-        if (!c4Manager.isC4Planted() || ps == null || !"CT".equals(ps.getTeam())) {
+        if (!c4Manager.isC4Planted() || ps == null || ps.getTeam() != Team.CT) {
             return;
         }
 
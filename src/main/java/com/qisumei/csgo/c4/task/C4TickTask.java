@@ -5,18 +5,13 @@ import com.qisumei.csgo.c4.C4Manager;
 import com.qisumei.csgo.game.Match;
 import com.qisumei.csgo.game.MatchContext;
 import com.qisumei.csgo.game.PlayerStats;
+import com.qisumei.csgo.game.Team;
 import net.minecraft.ChatFormatting;
-import net.minecraft.core.BlockPos;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.phys.AABB;
-
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
 
 /**
  * C4 Tick 任务处理器
@@ -26,7 +21,6 @@ public class C4TickTask {
 
     private final C4Manager c4Manager;
     private final MatchContext context;
-    private int c4BroadcastCooldown = 0;
 
     public C4TickTask(C4Manager c4Manager) {
         this.c4Manager = c4Manager;
@@ -58,52 +52,33 @@ public class C4TickTask {
         PlayerStats stats = context.getPlayerStats().get(player.getUUID());
         if (stats == null) return;
 
-        if ("CT".equals(stats.getTeam())) {
+        if (stats.getTeam() == Team.CT) {
             checkForIllegalC4Holder(player);
-        } else if ("T".equals(stats.getTeam())) {
+        } else if (stats.getTeam() == Team.T) {
             handleC4PlantingHint(player);
         }
     }
 
     private void handleDroppedC4Tick() {
-        if (c4Manager.isC4Planted()) return;
+        if (c4Manager.isC4Planted() || context.getAliveCount(Team.T) == 0) return;
 
-        ItemEntity droppedC4 = findDroppedC4();
+        ItemEntity droppedC4 = c4Manager.getDroppedC4();
         if (droppedC4 != null) {
             // Removed coordinate broadcast to prevent tactical information leakage
             // Only show distance to teammates
             
-            // 【修复】创建副本避免并发修改异常（玩家可能在迭代过程中死亡）
-            for (UUID playerUUID : new ArrayList<>(context.getAlivePlayers())) {
-                ServerPlayer player = context.getServer().getPlayerList().getPlayer(playerUUID);
-                if (player == null) continue;
-
-                PlayerStats stats = context.getPlayerStats().get(playerUUID);
-                if (stats != null && "T".equals(stats.getTeam())) {
+            // 名单返回的是快照数组，玩家在迭代过程中死亡也不会引发并发修改
+            for (ServerPlayer player : context.getRoster().getTeamPlayers(Team.T)) {
+                if (context.getAlivePlayers().contains(player.getUUID())) {
                     double distance = player.distanceTo(droppedC4);
                     String distanceString = String.format("%.1f", distance);
                     Component distanceMessage = Component.literal("距离C4: " + distanceString + "米").withStyle(ChatFormatting.YELLOW);
                     player.sendSystemMessage(distanceMessage, true);
                 }
             }
-        } else {
-            c4BroadcastCooldown = 0;
         }
     }
 
-    private ItemEntity findDroppedC4() {
-        AABB searchBox = context.getMatchAreaBoundingBox();
-        if (searchBox == null) return null;
-
-        Item c4Item = getC4ItemOrNull();
-        if (c4Item == null) return null;
-
-        List<ItemEntity> items = context.getServer().overworld().getEntitiesOfClass(ItemEntity.class, searchBox.inflate(50.0),
-            item -> item.getItem().is(c4Item));
-
-        return items.isEmpty() ? null : items.get(0);
-    }
-
     private void checkForIllegalC4Holder(ServerPlayer player) {
         Item c4Item = getC4ItemOrNull();
         if (c4Item == null) return;
@@ -112,7 +87,10 @@ public class C4TickTask {
             if (stack.is(c4Item)) {
                 ItemStack c4ToDrop = stack.copy();
                 player.getInventory().setItem(i, ItemStack.EMPTY);
-                player.drop(c4ToDrop, false, false);
+                ItemEntity dropped = player.drop(c4ToDrop, false, false);
+                if (dropped != null) {
+                    c4Manager.onC4Dropped(dropped);
+                }
                 player.sendSystemMessage(Component.literal("§c作为CT，你不能持有C4！已强制丢弃。").withStyle(ChatFormatting.RED));
                 QisCSGO.LOGGER.warn("已强制CT玩家 {} 丢弃C4。", player.getName().getString());
                 break;
@@ -3,6 +3,7 @@ package com.qisumei.csgo.commands;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
+import com.qisumei.csgo.game.Team;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.commands.arguments.EntityArgument;
@@ -49,8 +50,8 @@ public final class CSCommand {
                             .executes(CommandHandlers::saveMatchPreset)))
                     .then(Commands.literal("set")
                         .then(Commands.literal("spawnpoint")
-                            .then(Commands.literal("CT").then(Commands.argument("pos", BlockPosArgument.blockPos()).executes(context -> CommandHandlers.setSpawnpoint(context, "CT"))))
-                            .then(Commands.literal("T").then(Commands.argument("pos", BlockPosArgument.blockPos()).executes(context -> CommandHandlers.setSpawnpoint(context, "T"))))
+                            .then(Commands.literal("CT").then(Commands.argument("pos", BlockPosArgument.blockPos()).executes(context -> CommandHandlers.setSpawnpoint(context, Team.CT))))
+                            .then(Commands.literal("T").then(Commands.argument("pos", BlockPosArgument.blockPos()).executes(context -> CommandHandlers.setSpawnpoint(context, Team.T))))
                         )
                         .then(Commands.literal("bombsite")
                             .then(Commands.literal("A")
@@ -65,8 +66,8 @@ public final class CSCommand {
                         .then(Commands.literal("num").then(Commands.argument("rounds", IntegerArgumentType.integer(2)).executes(CommandHandlers::setNumRounds)))
                         .then(Commands.literal("time").then(Commands.argument("seconds", IntegerArgumentType.integer(10)).executes(CommandHandlers::setRoundTime)))
                         .then(Commands.literal("shop")
-                            .then(Commands.literal("CT").then(Commands.argument("pos", BlockPosArgument.blockPos()).executes(context -> CommandHandlers.setShopPos(context, "CT"))))
-                            .then(Commands.literal("T").then(Commands.argument("pos", BlockPosArgument.blockPos()).executes(context -> CommandHandlers.setShopPos(context, "T"))))
+                            .then(Commands.literal("CT").then(Commands.argument("pos", BlockPosArgument.blockPos()).executes(context -> CommandHandlers.setShopPos(context, Team.CT))))
+                            .then(Commands.literal("T").then(Commands.argument("pos", BlockPosArgument.blockPos()).executes(context -> CommandHandlers.setShopPos(context, Team.T))))
                         )
                     )
                 )
@@ -80,10 +81,10 @@ public final class CSCommand {
                 .then(Commands.literal("set")
                     .then(Commands.literal("initialgear")
                         .then(Commands.literal("CT")
-                            .executes(context -> CommandHandlers.setInitialGear(context, "CT")) // --- 修正 #3
+                            .executes(context -> CommandHandlers.setInitialGear(context, Team.CT)) // --- 修正 #3
                         )
                         .then(Commands.literal("T")
-                            .executes(context -> CommandHandlers.setInitialGear(context, "T")) // --- 修正 #4
+                            .executes(context -> CommandHandlers.setInitialGear(context, Team.T)) // --- 修正 #4
                         )
                     )
                 )
@@ -101,6 +102,17 @@ public final class CSCommand {
                     .executes(CommandHandlers::endMatch)
                 )
             )
+            .then(Commands.literal("perf")
+                .requires(source -> source.hasPermission(2))
+                .then(Commands.argument("name", StringArgumentType.string())
+                    // -> /cs perf <比赛名称>
+                    .executes(CommandHandlers::showMatchPerf)
+                    // -> /cs perf <比赛名称> reset
+                    .then(Commands.literal("reset")
+                        .executes(CommandHandlers::resetMatchPerf)
+                    )
+                )
+            )
             .then(Commands.literal("player")
                 .requires(source -> source.hasPermission(2))
                 .then(Commands.argument("name", StringArgumentType.string())
@@ -6,12 +6,15 @@ import com.qisumei.csgo.QisCSGO;
 import com.qisumei.csgo.config.ServerConfig;
 import com.qisumei.csgo.game.Match;
 import com.qisumei.csgo.game.MatchManager;
+import com.qisumei.csgo.game.MatchTickProfiler;
+import com.qisumei.csgo.game.Team;
 import com.qisumei.csgo.game.preset.MatchPreset;
 import com.qisumei.csgo.game.preset.PresetManager;
 import com.qisumei.csgo.service.MatchService;
 import com.qisumei.csgo.service.ServiceFallbacks;
 import com.qisumei.csgo.service.ServiceRegistry;
 import com.qisumei.csgo.util.ItemNBTHelper;
+import com.qisumei.csgo.util.TickHistogram;
 import net.minecraft.ChatFormatting;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.core.BlockPos;
@@ -140,18 +143,18 @@ public final class CommandHandlers {
             context.getSource().sendFailure(Component.literal("错误：比赛 '" + matchName + "' 已满员。"));
             return 0;
         }
-        String teamToJoin;
+        Team teamToJoin;
         if (match.getCtCount() < match.getTCount()) {
-            teamToJoin = "CT";
+            teamToJoin = Team.CT;
         } else if (match.getTCount() < match.getCtCount()) {
-            teamToJoin = "T";
+            teamToJoin = Team.T;
         } else {
-            teamToJoin = new Random().nextBoolean() ? "CT" : "T";
+            teamToJoin = new Random().nextBoolean() ? Team.CT : Team.T;
         }
-        String teamName = teamToJoin.equals("CT") ? match.getCtTeamName() : match.getTTeamName();
+        String teamName = match.getTeamName(teamToJoin);
         executeServerCommand(context.getSource(), "team join " + teamName + " " + player.getName().getString());
         match.addPlayer(player, teamToJoin);
-        Component teamComponent = teamToJoin.equals("CT") ? Component.literal("反恐精英").withStyle(ChatFormatting.BLUE) : Component.literal("恐怖分子").withStyle(ChatFormatting.GOLD);
+        Component teamComponent = Component.literal(teamToJoin.getDisplayName()).withStyle(teamToJoin == Team.CT ? ChatFormatting.BLUE : ChatFormatting.GOLD);
         context.getSource().sendSuccess(() -> Component.literal("你已成功加入比赛 '").append(matchName).append("'，阵营为 ").append(teamComponent), false);
         return 1;
     }
@@ -274,7 +277,7 @@ public final class CommandHandlers {
         return 1;
     }
 
-    public static int setSpawnpoint(CommandContext<CommandSourceStack> context, String team) throws CommandSyntaxException {
+    public static int setSpawnpoint(CommandContext<CommandSourceStack> context, Team team) throws CommandSyntaxException {
         String matchName = context.getArgument("name", String.class);
         MatchService svc = ServiceRegistry.get(MatchService.class);
         Match match = svc != null ? svc.getMatch(matchName) : MatchManager.getMatch(matchName);
@@ -283,11 +286,7 @@ public final class CommandHandlers {
             return 0;
         }
         BlockPos pos = net.minecraft.commands.arguments.coordinates.BlockPosArgument.getLoadedBlockPos(context, "pos");
-        if ("CT".equals(team)) {
-            match.addCtSpawn(pos);
-        } else {
-            match.addTSpawn(pos);
-        }
+        match.addSpawn(team, pos);
         context.getSource().sendSuccess(() -> Component.literal("已为比赛 '" + matchName + "' 添加 " + team + " 方出生点: " + pos.toShortString()), true);
         return 1;
     }
@@ -324,7 +323,7 @@ public final class CommandHandlers {
         return 1;
     }
 
-    public static int setShopPos(CommandContext<CommandSourceStack> context, String team) throws CommandSyntaxException {
+    public static int setShopPos(CommandContext<CommandSourceStack> context, Team team) throws CommandSyntaxException {
         String matchName = context.getArgument("name", String.class);
         MatchService svc = ServiceRegistry.get(MatchService.class);
         Match match = svc != null ? svc.getMatch(matchName) : MatchManager.getMatch(matchName);
@@ -333,16 +332,12 @@ public final class CommandHandlers {
             return 0;
         }
         BlockPos pos = net.minecraft.commands.arguments.coordinates.BlockPosArgument.getLoadedBlockPos(context, "pos");
-        if ("CT".equals(team)) {
-            match.setCtShopPos(pos);
-        } else {
-            match.setTShopPos(pos);
-        }
+        match.setShopPos(team, pos);
         context.getSource().sendSuccess(() -> Component.literal("已为比赛 '" + matchName + "' 设置 " + team + " 方商店位置: " + pos.toShortString()), true);
         return 1;
     }
 
-    public static int setInitialGear(CommandContext<CommandSourceStack> context, String team) throws CommandSyntaxException {
+    public static int setInitialGear(CommandContext<CommandSourceStack> context, Team team) throws CommandSyntaxException {
         ServerPlayer player = context.getSource().getPlayerOrException();
         ItemStack heldItem = player.getMainHandItem();
 
@@ -360,7 +355,7 @@ public final class CommandHandlers {
 
         List<String> newGearList = List.of(itemIdString);
 
-        if ("CT".equals(team)) {
+        if (team == Team.CT) {
             ServerConfig.CT_PISTOL_ROUND_GEAR_SPEC.set(newGearList);
             ServerConfig.CT_PISTOL_ROUND_GEAR_SPEC.save();
         } else {
@@ -425,6 +420,53 @@ public final class CommandHandlers {
         return 1;
     }
 
+    public static int showMatchPerf(CommandContext<CommandSourceStack> context) {
+        String matchName = context.getArgument("name", String.class);
+        MatchService svc = ServiceRegistry.get(MatchService.class);
+        Match match = svc != null ? svc.getMatch(matchName) : MatchManager.getMatch(matchName);
+        CommandSourceStack source = context.getSource();
+
+        if (match == null) {
+            source.sendFailure(Component.literal("错误：未找到名为 '" + matchName + "' 的比赛。"));
+            return 0;
+        }
+
+        MatchTickProfiler profiler = match.getTickProfiler();
+        MutableComponent message = Component.literal("--- 比赛 '" + matchName + "' tick 耗时 (ms) ---");
+        for (MatchTickProfiler.Phase phase : MatchTickProfiler.Phase.values()) {
+            message.append(formatHistogramLine(phase.getDisplayName(), profiler.getHistogram(phase)));
+        }
+        message.append(formatHistogramLine("全部比赛", MatchManager.getManagerTickHistogram()).withStyle(ChatFormatting.GRAY));
+        source.sendSuccess(() -> message, false);
+        return 1;
+    }
+
+    public static int resetMatchPerf(CommandContext<CommandSourceStack> context) {
+        String matchName = context.getArgument("name", String.class);
+        MatchService svc = ServiceRegistry.get(MatchService.class);
+        Match match = svc != null ? svc.getMatch(matchName) : MatchManager.getMatch(matchName);
+        CommandSourceStack source = context.getSource();
+
+        if (match == null) {
+            source.sendFailure(Component.literal("错误：未找到名为 '" + matchName + "' 的比赛。"));
+            return 0;
+        }
+
+        match.getTickProfiler().reset();
+        source.sendSuccess(() -> Component.literal("已重置比赛 '" + matchName + "' 的 tick 耗时统计。"), false);
+        return 1;
+    }
+
+    private static MutableComponent formatHistogramLine(String label, TickHistogram histogram) {
+        String line = String.format("\n %s: n=%d p50=%.3f p99=%.3f max=%.3f",
+            label,
+            histogram.getCount(),
+            histogram.percentile(0.50) / 1_000_000.0,
+            histogram.percentile(0.99) / 1_000_000.0,
+            histogram.getMax() / 1_000_000.0);
+        return Component.literal(line);
+    }
+
     public static int watchMatch(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
         CommandSourceStack source = context.getSource();
         ServerPlayer spectator = source.getPlayerOrException();
@@ -458,6 +500,10 @@ public final class CommandHandlers {
 
         spectator.setGameMode(GameType.SPECTATOR);
         spectator.setCamera(target);
+        for (Match other : ServiceFallbacks.getAllMatches()) {
+            other.removeWatcher(spectator.getUUID());
+        }
+        match.addWatcher(spectator.getUUID());
 
         source.sendSuccess(() -> Component.literal("你现在正在观战比赛 '").append(matchName).append("'. 正在跟随玩家 ").append(target.getDisplayName()), false);
         return 1;
@@ -468,6 +514,9 @@ public final class CommandHandlers {
         ServerPlayer spectator = source.getPlayerOrException();
 
         spectator.setGameMode(GameType.SURVIVAL);
+        for (Match match : ServiceFallbacks.getAllMatches()) {
+            match.removeWatcher(spectator.getUUID());
+        }
 
         BlockPos spawnPos = source.getLevel().getSharedSpawnPos();
         spectator.teleportTo(source.getLevel(), spawnPos.getX() + 0.5, spawnPos.getY(), spawnPos.getZ() + 0.5, 0, 0);
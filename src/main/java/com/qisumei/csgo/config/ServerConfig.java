@@ -1,5 +1,7 @@
 package com.qisumei.csgo.config;
 
+import com.qisumei.csgo.economy.KillRewardTable;
+import com.qisumei.csgo.util.ItemMatcher;
 import net.neoforged.neoforge.common.ModConfigSpec;
 import java.util.List;
 
@@ -40,6 +42,8 @@ public class ServerConfig {
     public static final ModConfigSpec.ConfigValue<List<? extends String>> WEAPONS_AWP_SPEC;
     public static final ModConfigSpec.ConfigValue<List<? extends String>> WEAPONS_GRENADE_SPEC;
     public static final ModConfigSpec.ConfigValue<String> TEAM_SWAP_MONEY_STRATEGY_SPEC;
+    public static final ModConfigSpec.IntValue BOSS_BAR_PROGRESS_STEPS_SPEC;
+    public static final ModConfigSpec.IntValue SMOKE_PARTICLE_BUDGET_SPEC;
 
     // --- 静态变量，用于在游戏中直接访问配置值 ---
 
@@ -63,6 +67,11 @@ public class ServerConfig {
      */
     public static List<String> inventoryProtectedItems;
 
+    /**
+     * {@link #inventoryProtectedItems} 预编译后的匹配器，在 {@link #bake()} 时重建。
+     */
+    public static ItemMatcher inventoryProtectedMatcher = ItemMatcher.EMPTY;
+
     /**
      * 是否启用友军伤害功能。
      */
@@ -176,6 +185,16 @@ public class ServerConfig {
      *        KEEP_ALL（保留所有）, RESET_TO_PISTOL_ROUND（重置为手枪局起始资金，默认）
      */
     public static String teamSwapMoneyStrategy;
+
+    /**
+     * Boss栏进度条的刻度数：进度只在跨过一个刻度时才向客户端推送。
+     */
+    public static int bossBarProgressSteps;
+
+    /**
+     * 每场比赛每 tick 所有烟雾合计最多生成的粒子数，由同时存在的烟雾平分。
+     */
+    public static int smokeParticleBudget;
     static {
         // 定义游戏规则相关配置项
         BUILDER.push("Game Rules");
@@ -252,6 +271,18 @@ public class ServerConfig {
         WEAPONS_GRENADE_SPEC = BUILDER.comment("被视为'投掷物'的物品ID列表").defineList("grenades", List.of("tacz:frag_grenade"), obj -> obj instanceof String);
         BUILDER.pop();
 
+        // 定义性能相关配置项
+        BUILDER.push("Performance");
+        BOSS_BAR_PROGRESS_STEPS_SPEC = BUILDER.comment(
+            "Boss栏倒计时进度条的刻度数",
+            "进度只在跨过一个刻度时才发送更新包，数值越小网络包越少、进度条越不平滑"
+        ).defineInRange("bossBarProgressSteps", 100, 1, 1000);
+        SMOKE_PARTICLE_BUDGET_SPEC = BUILDER.comment(
+            "每场比赛每 tick 烟雾粒子的总预算",
+            "同时存在多颗烟雾时平分预算，每颗烟雾每 tick 最多 40 个粒子"
+        ).defineInRange("smokeParticleBudget", 160, 0, 4096);
+        BUILDER.pop();
+
         SPEC = BUILDER.build();
     }
 
@@ -266,6 +297,7 @@ public class ServerConfig {
         ctPistolRoundGear = (List<String>) CT_PISTOL_ROUND_GEAR_SPEC.get();
         tPistolRoundGear = (List<String>) T_PISTOL_ROUND_GEAR_SPEC.get();
         inventoryProtectedItems = (List<String>) INVENTORY_PROTECTED_ITEMS_SPEC.get();
+        inventoryProtectedMatcher = ItemMatcher.compile(inventoryProtectedItems);
         friendlyFireEnabled = FRIENDLY_FIRE_ENABLED_SPEC.get();
         buyPhaseSeconds = BUY_PHASE_SECONDS_SPEC.get();
         roundEndSeconds = ROUND_END_SECONDS_SPEC.get();
@@ -287,6 +319,9 @@ public class ServerConfig {
         weaponsRifle = (List<String>) WEAPONS_RIFLE_SPEC.get();
         weaponsAwp = (List<String>) WEAPONS_AWP_SPEC.get();
         weaponsGrenade = (List<String>) WEAPONS_GRENADE_SPEC.get();
+        KillRewardTable.invalidate();
         teamSwapMoneyStrategy = TEAM_SWAP_MONEY_STRATEGY_SPEC.get();
+        bossBarProgressSteps = BOSS_BAR_PROGRESS_STEPS_SPEC.get();
+        smokeParticleBudget = SMOKE_PARTICLE_BUDGET_SPEC.get();
     }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.qisumei.csgo.economy;
+
+import com.qisumei.csgo.config.ServerConfig;
+import com.qisumei.csgo.util.ItemMatcher;
+import com.qisumei.csgo.weapon.WeaponDefinition;
+import com.qisumei.csgo.weapon.WeaponItemIndex;
+import com.qisumei.csgo.weapon.WeaponRegistry;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.List;
+
+/**
+ * 击杀奖励查询表：{@link Item} -> 奖励金额。
+ * <p>
+ * 表在配置加载/重载（{@link ServerConfig#bake()} 调用 {@link #invalidate()}）或武器注册表变化后的第一次查询时重建，
+ * 之后每次击杀只做一次按引用的哈希查询，不再逐个遍历七个武器分类列表并解析配置字符串。
+ * <p>
+ * 合并规则：先写入 {@link WeaponRegistry} 中各武器定义的击杀奖励，再用配置中的武器分类列表覆盖；
+ * 分类之间的优先级与原先的判断顺序一致（刀 > 手枪 > 冲锋枪 > 重型 > 步枪 > AWP > 投掷物）。
+ * 未收录的物品与空手击杀按手枪奖励计算。只能在服务器主线程使用。
+ */
+public final class KillRewardTable {
+    private static final int MISSING = -1;
+
+    private static Reference2IntOpenHashMap<Item> rewards;
+    private static int builtForWeaponVersion = -1;
+
+    private KillRewardTable() {
+    }
+
+    /**
+     * 标记查询表失效，下一次查询时重建。
+     */
+    public static void invalidate() {
+        rewards = null;
+    }
+
+    /**
+     * 获取使用指定武器击杀的奖励金额。
+     * @param weapon 击杀时手持的物品，可以为 null 或空
+     * @return 奖励金额
+     */
+    public static int getReward(ItemStack weapon) {
+        if (weapon == null || weapon.isEmpty()) {
+            return ServerConfig.killRewardPistol;
+        }
+        int reward = table().getInt(weapon.getItem());
+        return reward != MISSING ? reward : ServerConfig.killRewardPistol;
+    }
+
+    private static Reference2IntOpenHashMap<Item> table() {
+        Reference2IntOpenHashMap<Item> table = rewards;
+        int weaponVersion = WeaponRegistry.getVersion();
+        if (table != null && builtForWeaponVersion == weaponVersion) {
+            return table;
+        }
+
+        table = new Reference2IntOpenHashMap<>();
+        table.defaultReturnValue(MISSING);
+        for (WeaponDefinition definition : WeaponRegistry.getAllWeapons()) {
+            Item item = WeaponItemIndex.getItem(definition);
+            if (item != null) table.put(item, definition.getKillReward());
+        }
+        // 按优先级从低到高写入，高优先级的分类覆盖低优先级
+        putAll(table, ServerConfig.weaponsGrenade, ServerConfig.killRewardGrenade);
+        putAll(table, ServerConfig.weaponsAwp, ServerConfig.killRewardAwp);
+        putAll(table, ServerConfig.weaponsRifle, ServerConfig.killRewardRifle);
+        putAll(table, ServerConfig.weaponsHeavy, ServerConfig.killRewardHeavy);
+        putAll(table, ServerConfig.weaponsSmg, ServerConfig.killRewardSmg);
+        putAll(table, ServerConfig.weaponsPistol, ServerConfig.killRewardPistol);
+        putAll(table, ServerConfig.weaponsKnife, ServerConfig.killRewardKnife);
+
+        rewards = table;
+        builtForWeaponVersion = weaponVersion;
+        return table;
+    }
+
+    private static void putAll(Reference2IntOpenHashMap<Item> table, List<String> ids, int reward) {
+        if (ids == null) return;
+        for (String id : ids) {
+            Item item = ItemMatcher.resolveItem(id);
+            if (item != null) table.put(item, reward);
+        }
+    }
+}
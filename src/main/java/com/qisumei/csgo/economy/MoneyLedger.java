@@ -0,0 +1,176 @@
+package com.qisumei.csgo.economy;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 无锁的玩家余额账本。
+ * <p>
+ * 每个玩家对应一个 {@link AtomicInteger} 槽位，余额以原始 int 存放，读余额不做装箱、不分配对象；
+ * 所有写操作都是对槽位的 CAS 循环，因此"检查余额再扣款"是一个原子步骤，并发购买不会重复消费。
+ * 余额始终被限制在 {@code [0, maxBalance]} 之间。
+ * <p>
+ * 不依赖 Minecraft 类，可独立测试。
+ */
+public final class MoneyLedger {
+    /** {@link #transaction} 被拒绝（结果为负）时的返回值 */
+    public static final int REJECTED = -1;
+
+    private final int maxBalance;
+    private final Map<UUID, AtomicInteger> balances = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxBalance 余额上限（必须 >= 0）
+     * @throws IllegalArgumentException 如果 maxBalance 为负数
+     */
+    public MoneyLedger(int maxBalance) {
+        if (maxBalance < 0) {
+            throw new IllegalArgumentException("maxBalance must be >= 0: " + maxBalance);
+        }
+        this.maxBalance = maxBalance;
+    }
+
+    /**
+     * 读取余额，不存在的玩家返回 0。
+     */
+    public int get(UUID playerId) {
+        AtomicInteger slot = balances.get(playerId);
+        return slot != null ? slot.get() : 0;
+    }
+
+    /**
+     * 设置余额（自动限制在 0 到上限之间）。
+     */
+    public void set(UUID playerId, int amount) {
+        slot(playerId).set(clamp(amount));
+    }
+
+    /**
+     * 将同一个余额写给多名玩家（例如回合开始重置资金）。
+     */
+    public void setAll(Collection<UUID> playerIds, int amount) {
+        int value = clamp(amount);
+        for (UUID playerId : playerIds) {
+            slot(playerId).set(value);
+        }
+    }
+
+    /**
+     * 增加余额，超出上限的部分被截断。
+     * @param amount 增加的数量，<= 0 时不做任何修改
+     * @return 操作后的余额
+     */
+    public int credit(UUID playerId, int amount) {
+        if (amount <= 0) return get(playerId);
+        AtomicInteger slot = slot(playerId);
+        while (true) {
+            int current = slot.get();
+            int next = (int) Math.min((long) current + amount, maxBalance);
+            if (slot.compareAndSet(current, next)) return next;
+        }
+    }
+
+    /**
+     * 批量增加余额（例如回合收入），每名玩家的入账各自是原子的。
+     * @param playerIds 玩家列表
+     * @param amounts 与 playerIds 下标一一对应的增加数量
+     * @return 与 playerIds 下标一一对应的操作后余额
+     * @throws IllegalArgumentException 如果两个数组长度不一致
+     */
+    public int[] creditAll(UUID[] playerIds, int[] amounts) {
+        if (playerIds.length != amounts.length) {
+            throw new IllegalArgumentException("playerIds and amounts must have the same length");
+        }
+        int[] balances = new int[playerIds.length];
+        for (int i = 0; i < playerIds.length; i++) {
+            balances[i] = credit(playerIds[i], amounts[i]);
+        }
+        return balances;
+    }
+
+    /**
+     * 原子地扣款：余额足够时扣除并返回 true，否则不做任何修改并返回 false。
+     * @param amount 扣除的数量，<= 0 时视为成功且不修改余额
+     */
+    public boolean tryDebit(UUID playerId, int amount) {
+        if (amount <= 0) return true;
+        AtomicInteger slot = balances.get(playerId);
+        if (slot == null) return false;
+        while (true) {
+            int current = slot.get();
+            if (current < amount) return false;
+            if (slot.compareAndSet(current, current - amount)) return true;
+        }
+    }
+
+    /**
+     * 原子地一次性扣除多笔费用（例如一次购买多件物品）：总额足够时全部扣除，否则一笔也不扣。
+     * @param amounts 各笔费用（负数与 0 被忽略）
+     * @return 是否扣款成功
+     */
+    public boolean tryDebitAll(UUID playerId, int... amounts) {
+        long total = 0;
+        for (int amount : amounts) {
+            if (amount > 0) total += amount;
+        }
+        if (total > Integer.MAX_VALUE) return false;
+        return tryDebit(playerId, (int) total);
+    }
+
+    /**
+     * 以原子方式对余额执行任意变换。变换函数可能因 CAS 冲突被多次调用，因此必须没有副作用。
+     * @param update 输入当前余额，返回新余额；返回负数表示拒绝本次交易，余额保持不变
+     * @return 交易后的余额（已限制在上限内），被拒绝时返回 {@link #REJECTED}
+     */
+    public int transaction(UUID playerId, IntUnaryOperator update) {
+        Objects.requireNonNull(update, "update cannot be null");
+        AtomicInteger slot = slot(playerId);
+        while (true) {
+            int current = slot.get();
+            int next = update.applyAsInt(current);
+            if (next < 0) return REJECTED;
+            next = Math.min(next, maxBalance);
+            if (slot.compareAndSet(current, next)) return next;
+        }
+    }
+
+    /**
+     * 移除玩家的账户。
+     */
+    public void remove(UUID playerId) {
+        balances.remove(playerId);
+    }
+
+    /**
+     * 清空所有账户。
+     */
+    public void clear() {
+        balances.clear();
+    }
+
+    /**
+     * @return 账户数量
+     */
+    public int size() {
+        return balances.size();
+    }
+
+    public int getMaxBalance() {
+        return maxBalance;
+    }
+
+    private AtomicInteger slot(UUID playerId) {
+        Objects.requireNonNull(playerId, "Player UUID cannot be null");
+        AtomicInteger slot = balances.get(playerId);
+        return slot != null ? slot : balances.computeIfAbsent(playerId, id -> new AtomicInteger());
+    }
+
+    private int clamp(int amount) {
+        return Math.clamp(amount, 0, maxBalance);
+    }
+}
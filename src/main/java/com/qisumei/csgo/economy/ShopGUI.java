@@ -2,6 +2,7 @@ package com.qisumei.csgo.economy;
 
 import com.qisumei.csgo.QisCSGO;
 import com.qisumei.csgo.game.EconomyManager;
+import com.qisumei.csgo.game.Team;
 import com.qisumei.csgo.service.ServiceFallbacks;
 import com.qisumei.csgo.weapon.*;
 import net.minecraft.ChatFormatting;
@@ -24,7 +25,6 @@ import net.minecraft.world.item.component.ItemLore;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 /**
  * 商店GUI - 使用箱子界面展示可购买的物品
@@ -35,12 +35,12 @@ public class ShopGUI {
     /**
      * 打开商店GUI给玩家
      * @param player 玩家
-     * @param team 队伍（"CT" 或 "T"，用于显示对应队伍的物品）
+     * @param team 队伍（用于显示对应队伍的物品）
      */
-    public static void openShop(ServerPlayer player, String team) {
+    public static void openShop(ServerPlayer player, Team team) {
         MenuProvider menuProvider = new SimpleMenuProvider(
             (containerId, playerInventory, p) -> new ShopMenu(containerId, playerInventory, (ServerPlayer) p, team),
-            Component.literal("§6§l武器商店 - " + ("CT".equals(team) ? "反恐精英" : "恐怖分子"))
+            Component.literal("§6§l武器商店 - " + team.getDisplayName())
         );
 
         player.openMenu(menuProvider);
@@ -49,10 +49,16 @@ public class ShopGUI {
     // 自定义Chest菜单以拦截点击进行购买
     private static class ShopMenu extends ChestMenu {
         private final ServerPlayer player;
+        private final ShopContainer shop;
 
-        protected ShopMenu(int containerId, Inventory playerInventory, ServerPlayer player, String team) {
-            super(MenuType.GENERIC_9x6, containerId, playerInventory, new ShopContainer(team, player), 6);
+        protected ShopMenu(int containerId, Inventory playerInventory, ServerPlayer player, Team team) {
+            this(containerId, playerInventory, player, new ShopContainer(team, player));
+        }
+
+        private ShopMenu(int containerId, Inventory playerInventory, ServerPlayer player, ShopContainer shop) {
+            super(MenuType.GENERIC_9x6, containerId, playerInventory, shop, 6);
             this.player = player;
+            this.shop = shop;
         }
 
         @Override
@@ -77,35 +83,31 @@ public class ShopGUI {
                     return;
                 }
 
-                String itemId = parseItemIdFromLore(stack);
-                Integer price = parsePriceFromLore(stack);
-
-                if (itemId == null) {
-                    itemId = BuiltInRegistries.ITEM.getKey(stack.getItem()).toString();
-                }
-                if (price == null) {
-                    this.player.sendSystemMessage(Component.literal("§c该物品无法购买（缺少价格信息）。"));
+                // 按槽位下标直接取得武器定义，不再从描述文本中解析 ID 与价格
+                WeaponDefinition weapon = shop.getDefinition(slotId);
+                if (weapon == null) {
+                    this.player.sendSystemMessage(Component.literal("§c该物品无法购买。"));
                     return;
                 }
-
-                // 检查是否是投掷物，如果是则检查是否已购买过
-                if (isThrowable(itemId)) {
-                    var playerMatch = ServiceFallbacks.getPlayerMatch(this.player);
-                    if (playerMatch != null) {
-                        var stats = playerMatch.getPlayerStats().get(this.player.getUUID());
-                        if (stats != null && stats.hasPurchasedThrowable(itemId)) {
-                            this.player.sendSystemMessage(Component.literal("§c该投掷物每场比赛只能购买一次！"));
-                            return;
-                        }
-                    }
+                String itemId = weapon.getWeaponId();
+                int price = weapon.getPrice();
+
+                // 检查本场比赛的购买上限（投掷物默认只能购买一次）
+                var stats = match.getPlayerStats().get(this.player.getUUID());
+                if (stats != null && stats.getPurchases().isAtLimit(weapon)) {
+                    String message = weapon.getPurchaseLimit() == 1
+                        ? (weapon.getType() == WeaponType.GRENADE ? "§c该投掷物每场比赛只能购买一次！" : "§c该物品每场比赛只能购买一次！")
+                        : "§c该物品每场比赛最多购买 " + weapon.getPurchaseLimit() + " 次！";
+                    this.player.sendSystemMessage(Component.literal(message));
+                    return;
                 }
 
                 if (!EconomyManager.takeMoney(this.player, price)) {
                     return;
                 }
 
-                // 使用武器注册表创建武器
-                ItemStack toGive = createWeaponFromRegistry(itemId);
+                // 使用武器定义创建武器
+                ItemStack toGive = WeaponFactory.createWeapon(weapon);
                 if (toGive.isEmpty()) {
                     this.player.sendSystemMessage(Component.literal("§c购买失败：找不到物品 " + itemId));
                     // 退款
@@ -128,17 +130,11 @@ public class ShopGUI {
                 }
 
                 // 自动附赠一组对应口径的弹药（使用武器定义）
-                giveAmmoForWeapon(this.player, itemId);
+                giveAmmoForWeapon(this.player, weapon);
                 
-                // 如果是投掷物，记录购买
-                if (isThrowable(itemId)) {
-                    var playerMatch = ServiceFallbacks.getPlayerMatch(this.player);
-                    if (playerMatch != null) {
-                        var stats = playerMatch.getPlayerStats().get(this.player.getUUID());
-                        if (stats != null) {
-                            stats.addPurchasedThrowable(itemId);
-                        }
-                    }
+                // 记录购买次数
+                if (stats != null) {
+                    stats.getPurchases().record(weapon);
                 }
 
                 // 购买成功反馈与刷新余额显示
@@ -153,30 +149,10 @@ public class ShopGUI {
             super.clicked(slotId, button, clickType, clicker);
         }
         
-        /**
-         * 使用武器注册表创建武器
-         */
-        private static ItemStack createWeaponFromRegistry(String itemId) {
-            // 尝试从武器注册表获取武器定义
-            Optional<WeaponDefinition> weaponOpt = WeaponRegistry.getWeapon(itemId);
-            if (weaponOpt.isPresent()) {
-                return WeaponFactory.createWeapon(weaponOpt.get());
-            }
-            
-            // 如果不在注册表中，回退到直接创建物品（用于护甲等非武器物品）
-            return createItemFor(itemId);
-        }
-        
         /**
          * 为玩家提供武器对应的弹药
          */
-        private static void giveAmmoForWeapon(ServerPlayer player, String weaponId) {
-            Optional<WeaponDefinition> weaponOpt = WeaponRegistry.getWeapon(weaponId);
-            if (weaponOpt.isEmpty()) {
-                return;
-            }
-            
-            WeaponDefinition weapon = weaponOpt.get();
+        private static void giveAmmoForWeapon(ServerPlayer player, WeaponDefinition weapon) {
             if (!weapon.getAmmoType().hasAmmo()) {
                 return;
             }
@@ -193,23 +169,6 @@ public class ShopGUI {
             }
         }
         
-        /**
-         * 检查物品是否为投掷物
-         */
-        private static boolean isThrowable(String itemId) {
-            Optional<WeaponDefinition> weaponOpt = WeaponRegistry.getWeapon(itemId);
-            if (weaponOpt.isPresent()) {
-                return weaponOpt.get().getType() == WeaponType.GRENADE;
-            }
-            // 回退到旧的检查方式
-            return itemId != null && (
-                itemId.contains("grenade") || 
-                itemId.contains("flash") || 
-                itemId.contains("smoke") ||
-                itemId.equals("qiscsgo:smoke_grenade")
-            );
-        }
-
         private static ItemStack buildMoneyDisplay(ServerPlayer player) {
             int balance = VirtualMoneyManager.getInstance().getMoney(player);
             ItemStack item = new ItemStack(Items.EMERALD);
@@ -219,53 +178,101 @@ public class ShopGUI {
             item.set(DataComponents.LORE, new ItemLore(lore));
             return item;
         }
+    }
 
-        private static String parseItemIdFromLore(ItemStack stack) {
-            ItemLore lore = stack.get(DataComponents.LORE);
-            if (lore == null) return null;
-            for (Component line : lore.lines()) {
-                String s = line.getString();
-                int idx = s.indexOf("ID:");
-                if (idx >= 0) {
-                    String id = s.substring(idx + 3).trim();
-                    // 去除颜色符号等
-                    id = id.replace("§7", "").replace("§8", "").replace("§", "").trim();
-                    return id;
-                }
-            }
-            return null;
+    /**
+     * 预构建的商店槽位模板（不含余额槽），每个队伍一份。
+     * 模板只在 {@link WeaponRegistry#getVersion()} 变化（武器或价格变动）后的第一次打开商店时重建，
+     * 之后每次打开商店只需复制模板中的物品，不再重复查询注册表、创建展示物品和构建描述文本。
+     * 模板内的 ItemStack 不会交给任何容器，容器拿到的始终是副本；
+     * {@code definitions} 与 {@code slots} 下标一一对应，点击购买时按下标直接取得武器定义。
+     */
+    private record ShopTemplate(int registryVersion, ItemStack[] slots, WeaponDefinition[] definitions) { }
+
+    // 按 Team.ordinal() 下标存放各队的模板，只在服务器主线程访问
+    private static final ShopTemplate[] TEMPLATES = new ShopTemplate[Team.COUNT];
+
+    private static ShopTemplate templateFor(Team team) {
+        int version = WeaponRegistry.getVersion();
+        ShopTemplate template = TEMPLATES[team.ordinal()];
+        if (template == null || template.registryVersion() != version) {
+            ItemStack[] slots = new ItemStack[54];
+            WeaponDefinition[] definitions = new WeaponDefinition[54];
+            buildShopSlots(team, slots, definitions);
+            template = new ShopTemplate(version, slots, definitions);
+            TEMPLATES[team.ordinal()] = template;
         }
+        return template;
+    }
 
-        private static Integer parsePriceFromLore(ItemStack stack) {
-            ItemLore lore = stack.get(DataComponents.LORE);
-            if (lore == null) return null;
-            for (Component line : lore.lines()) {
-                String s = line.getString();
-                if (s.contains("价格") || s.contains("$")) {
-                    // 尝试提取 $ 后的数字
-                    int dollar = s.indexOf('$');
-                    if (dollar >= 0) {
-                        String num = s.substring(dollar + 1).replaceAll("[^0-9]", "");
-                        if (!num.isEmpty()) {
-                            try { return Integer.parseInt(num); } catch (NumberFormatException ignored) {}
-                        }
-                    }
-                }
-            }
-            return null;
+    private static void buildShopSlots(Team team, ItemStack[] items, WeaponDefinition[] definitions) {
+        // 6行9列，初始化所有槽位为空
+        for (int i = 0; i < items.length; i++) {
+            items[i] = ItemStack.EMPTY;
         }
+        int slot = 0;
+
+        // 使用武器注册表自动填充商店
+        // 第一行：手枪
+        List<WeaponDefinition> pistols = WeaponRegistry.getWeaponsByTypeAndTeam(WeaponType.PISTOL, team);
+        for (WeaponDefinition weapon : pistols) {
+            if (slot >= 9) break;
+            addShopItemFromWeapon(items, definitions, slot++, weapon);
+        }
+        slot = 9; // 跳到下一行
 
-        private static ItemStack createItemFor(String itemId) {
-            try {
-                ResourceLocation id = ResourceLocation.tryParse(itemId);
-                if (id == null) return ItemStack.EMPTY;
-                Item item = BuiltInRegistries.ITEM.get(id);
-                if (item == null || item == Items.AIR) return ItemStack.EMPTY;
-                return new ItemStack(item);
-            } catch (Exception e) {
-                QisCSGO.LOGGER.error("解析物品ID失败: {}", itemId, e);
-                return ItemStack.EMPTY;
-            }
+        // 第二行：冲锋枪
+        List<WeaponDefinition> smgs = WeaponRegistry.getWeaponsByTypeAndTeam(WeaponType.SMG, team);
+        for (WeaponDefinition weapon : smgs) {
+            if (slot >= 18) break;
+            addShopItemFromWeapon(items, definitions, slot++, weapon);
+        }
+        slot = 18; // 跳到下一行
+
+        // 第三行：步枪
+        List<WeaponDefinition> rifles = WeaponRegistry.getWeaponsByTypeAndTeam(WeaponType.RIFLE, team);
+        for (WeaponDefinition weapon : rifles) {
+            if (slot >= 27) break;
+            addShopItemFromWeapon(items, definitions, slot++, weapon);
+        }
+        slot = 27; // 跳到下一行
+
+        // 第四行：狙击枪
+        List<WeaponDefinition> snipers = WeaponRegistry.getWeaponsByTypeAndTeam(WeaponType.SNIPER, team);
+        for (WeaponDefinition weapon : snipers) {
+            if (slot >= 36) break;
+            addShopItemFromWeapon(items, definitions, slot++, weapon);
+        }
+        slot = 36; // 跳到下一行
+
+        // 第五行：投掷物
+        List<WeaponDefinition> grenades = WeaponRegistry.getWeaponsByTypeAndTeam(WeaponType.GRENADE, team);
+        for (WeaponDefinition weapon : grenades) {
+            if (slot >= 45) break;
+            addShopItemFromWeapon(items, definitions, slot++, weapon);
+        }
+        slot = 45; // 跳到下一行
+
+        // 第六行：护甲和重型武器
+        List<WeaponDefinition> heavyItems = WeaponRegistry.getWeaponsByTypeAndTeam(WeaponType.HEAVY, team);
+        for (WeaponDefinition weapon : heavyItems) {
+            if (slot >= 53) break;
+            addShopItemFromWeapon(items, definitions, slot++, weapon);
+        }
+
+        // 底部右侧余额展示在 ShopContainer.updateMoneyDisplay 中处理
+    }
+
+    /**
+     * 从武器定义添加商店物品
+     */
+    private static void addShopItemFromWeapon(ItemStack[] items, WeaponDefinition[] definitions, int slot, WeaponDefinition weapon) {
+        try {
+            ShopItem shopItem = com.qisumei.csgo.weapon.ShopItem.fromWeaponDefinition(weapon);
+            items[slot] = shopItem.getDisplayStack();
+            definitions[slot] = weapon;
+        } catch (Exception e) {
+            QisCSGO.LOGGER.error("从武器定义创建商店物品失败: " + weapon.getWeaponId(), e);
         }
     }
 
@@ -274,83 +281,25 @@ public class ShopGUI {
      */
     private static class ShopContainer implements net.minecraft.world.Container {
         private final ItemStack[] items = new ItemStack[54]; // 6行9列
+        // 槽位 -> 武器定义（与模板共享，只读）
+        private final WeaponDefinition[] definitions;
 
-        public ShopContainer(String team, ServerPlayer player) {
-            // 初始化所有槽位为空
+        public ShopContainer(Team team, ServerPlayer player) {
+            // 从队伍模板复制商店物品
+            ShopTemplate template = templateFor(team);
             for (int i = 0; i < items.length; i++) {
-                items[i] = ItemStack.EMPTY;
+                items[i] = template.slots()[i].copy();
             }
-
-            // 填充商店物品
-            setupShopItems(team);
+            this.definitions = template.definitions();
             // 底部右侧显示余额
             updateMoneyDisplay(player);
         }
 
-        private void setupShopItems(String team) {
-            int slot = 0;
-
-            // 使用武器注册表自动填充商店
-            // 第一行：手枪
-            List<WeaponDefinition> pistols = WeaponRegistry.getWeaponsByTypeAndTeam(WeaponType.PISTOL, team);
-            for (WeaponDefinition weapon : pistols) {
-                if (slot >= 9) break;
-                addShopItemFromWeapon(slot++, weapon);
-            }
-            slot = 9; // 跳到下一行
-
-            // 第二行：冲锋枪
-            List<WeaponDefinition> smgs = WeaponRegistry.getWeaponsByTypeAndTeam(WeaponType.SMG, team);
-            for (WeaponDefinition weapon : smgs) {
-                if (slot >= 18) break;
-                addShopItemFromWeapon(slot++, weapon);
-            }
-            slot = 18; // 跳到下一行
-
-            // 第三行：步枪
-            List<WeaponDefinition> rifles = WeaponRegistry.getWeaponsByTypeAndTeam(WeaponType.RIFLE, team);
-            for (WeaponDefinition weapon : rifles) {
-                if (slot >= 27) break;
-                addShopItemFromWeapon(slot++, weapon);
-            }
-            slot = 27; // 跳到下一行
-
-            // 第四行：狙击枪
-            List<WeaponDefinition> snipers = WeaponRegistry.getWeaponsByTypeAndTeam(WeaponType.SNIPER, team);
-            for (WeaponDefinition weapon : snipers) {
-                if (slot >= 36) break;
-                addShopItemFromWeapon(slot++, weapon);
-            }
-            slot = 36; // 跳到下一行
-
-            // 第五行：投掷物
-            List<WeaponDefinition> grenades = WeaponRegistry.getWeaponsByTypeAndTeam(WeaponType.GRENADE, team);
-            for (WeaponDefinition weapon : grenades) {
-                if (slot >= 45) break;
-                addShopItemFromWeapon(slot++, weapon);
-            }
-            slot = 45; // 跳到下一行
-
-            // 第六行：护甲和重型武器
-            List<WeaponDefinition> heavyItems = WeaponRegistry.getWeaponsByTypeAndTeam(WeaponType.HEAVY, team);
-            for (WeaponDefinition weapon : heavyItems) {
-                if (slot >= 53) break;
-                addShopItemFromWeapon(slot++, weapon);
-            }
-
-            // 底部右侧余额展示在 updateMoneyDisplay 中处理
-        }
-
         /**
-         * 从武器定义添加商店物品
+         * @return 槽位对应的武器定义，非商品槽位返回 null
          */
-        private void addShopItemFromWeapon(int slot, WeaponDefinition weapon) {
-            try {
-                ShopItem shopItem = com.qisumei.csgo.weapon.ShopItem.fromWeaponDefinition(weapon);
-                items[slot] = shopItem.getDisplayStack();
-            } catch (Exception e) {
-                QisCSGO.LOGGER.error("从武器定义创建商店物品失败: " + weapon.getWeaponId(), e);
-            }
+        public WeaponDefinition getDefinition(int slot) {
+            return slot >= 0 && slot < definitions.length ? definitions[slot] : null;
         }
 
         private void addShopItem(int slot, String itemId, String displayName, int price) {
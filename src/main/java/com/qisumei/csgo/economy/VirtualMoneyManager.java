@@ -2,17 +2,15 @@ package com.qisumei.csgo.economy;
 
 import net.minecraft.server.level.ServerPlayer;
 
-import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 虚拟货币管理器 - 管理玩家的游戏内货币（不再使用钻石）
- * 线程安全的单例实现，使用 ConcurrentHashMap 提高并发性能。
+ * 线程安全的单例实现，余额存放在无锁的 {@link MoneyLedger} 中。
  * 
  * 改进：
- * - 使用 ConcurrentHashMap 替代 HashMap + synchronized 以提高并发性能
+ * - 余额以原始 int 存放在 CAS 槽位中，读取不装箱；扣款是原子的"检查并扣除"，并发购买不会重复消费
  * - 添加防御性编程：非空检查、数值范围验证
  * - 使用 Java 21 改进的 Objects 工具类
  */
@@ -20,8 +18,8 @@ public final class VirtualMoneyManager {
     private static final VirtualMoneyManager INSTANCE = new VirtualMoneyManager();
     private static final int MAX_MONEY = 65535; // 最大货币限制，防止整数溢出
 
-    // 玩家货币存储 <玩家UUID, 货币数量> - 使用 ConcurrentHashMap 提高并发性能
-    private final Map<UUID, Integer> playerMoney = new ConcurrentHashMap<>();
+    // 玩家货币账本 <玩家UUID, 货币数量>
+    private final MoneyLedger ledger = new MoneyLedger(MAX_MONEY);
 
     private VirtualMoneyManager() {}
 
@@ -29,6 +27,14 @@ public final class VirtualMoneyManager {
         return INSTANCE;
     }
 
+    /**
+     * 获取底层账本，用于批量设置、多笔原子交易等操作。
+     * @return 货币账本
+     */
+    public MoneyLedger getLedger() {
+        return ledger;
+    }
+
     /**
      * 获取玩家当前货币数量。
      * @param player 玩家对象（不能为 null）
@@ -37,7 +43,7 @@ public final class VirtualMoneyManager {
      */
     public int getMoney(ServerPlayer player) {
         Objects.requireNonNull(player, "Player cannot be null");
-        return playerMoney.getOrDefault(player.getUUID(), 0);
+        return ledger.get(player.getUUID());
     }
 
     /**
@@ -48,7 +54,7 @@ public final class VirtualMoneyManager {
      */
     public int getMoney(UUID playerUUID) {
         Objects.requireNonNull(playerUUID, "Player UUID cannot be null");
-        return playerMoney.getOrDefault(playerUUID, 0);
+        return ledger.get(playerUUID);
     }
 
     /**
@@ -59,9 +65,8 @@ public final class VirtualMoneyManager {
      */
     public void setMoney(ServerPlayer player, int amount) {
         Objects.requireNonNull(player, "Player cannot be null");
-        // 确保货币在有效范围内
-        int validAmount = Math.clamp(amount, 0, MAX_MONEY);
-        playerMoney.put(player.getUUID(), validAmount);
+        // 账本会将货币限制在有效范围内
+        ledger.set(player.getUUID(), amount);
     }
 
     /**
@@ -73,11 +78,8 @@ public final class VirtualMoneyManager {
     public void addMoney(ServerPlayer player, int amount) {
         Objects.requireNonNull(player, "Player cannot be null");
         if (amount <= 0) return;
-        
-        playerMoney.compute(player.getUUID(), (uuid, current) -> {
-            int newAmount = (current == null ? 0 : current) + amount;
-            return Math.min(newAmount, MAX_MONEY); // 防止溢出
-        });
+
+        ledger.credit(player.getUUID(), amount); // 超出上限的部分被截断
     }
 
     /**
@@ -89,17 +91,8 @@ public final class VirtualMoneyManager {
      */
     public boolean takeMoney(ServerPlayer player, int amount) {
         Objects.requireNonNull(player, "Player cannot be null");
-        if (amount <= 0) return true;
-        
-        UUID playerId = player.getUUID();
-        int current = getMoney(playerId);
-        
-        if (current < amount) {
-            return false; // 余额不足
-        }
-        
-        playerMoney.put(playerId, current - amount);
-        return true;
+        // 原子的检查并扣除，余额不足时不做修改
+        return ledger.tryDebit(player.getUUID(), amount);
     }
 
     /**
@@ -121,14 +114,14 @@ public final class VirtualMoneyManager {
      */
     public void clearMoney(ServerPlayer player) {
         Objects.requireNonNull(player, "Player cannot be null");
-        playerMoney.remove(player.getUUID());
+        ledger.remove(player.getUUID());
     }
 
     /**
      * 清除所有玩家货币（用于服务器重置）。
      */
     public void clearAll() {
-        playerMoney.clear();
+        ledger.clear();
     }
 }
 
@@ -2,10 +2,9 @@
 package com.qisumei.csgo.events;
 
 import com.qisumei.csgo.QisCSGO;
+import com.qisumei.csgo.c4.C4Manager;
 import com.qisumei.csgo.config.ServerConfig;
 import com.qisumei.csgo.game.Match;
-import com.qisumei.csgo.game.PlayerStats;
-import com.qisumei.csgo.util.ItemNBTHelper;
 import com.qisumei.csgo.service.ServiceRegistry;
 import com.qisumei.csgo.service.ServiceFallbacks;
 import com.qisumei.csgo.server.ServerCommandExecutor;
@@ -16,9 +15,12 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.item.ItemStack;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.entity.EntityJoinLevelEvent;
+import net.neoforged.neoforge.event.entity.EntityLeaveLevelEvent;
 import net.neoforged.neoforge.event.entity.living.LivingDeathEvent;
 import net.neoforged.neoforge.event.tick.PlayerTickEvent;
 import net.neoforged.neoforge.event.tick.ServerTickEvent;
@@ -88,12 +90,12 @@ public class GameEventsHandler {
                 ItemStack stack = deadPlayer.getInventory().getItem(i);
                 if (stack.isEmpty()) continue;
 
-                boolean isProtected = ServerConfig.inventoryProtectedItems.stream()
-                        .anyMatch(id -> ItemNBTHelper.idMatches(stack, id));
-
-                if (!isProtected) {
-                    deadPlayer.drop(stack.copy(), true, false);
+                if (!ServerConfig.inventoryProtectedMatcher.matches(stack)) {
+                    ItemEntity dropped = deadPlayer.drop(stack.copy(), true, false);
                     deadPlayer.getInventory().setItem(i, ItemStack.EMPTY);
+                    if (dropped != null && C4Manager.isC4(stack)) {
+                        match.getC4Manager().onC4Dropped(dropped);
+                    }
                 }
             }
 
@@ -117,8 +119,7 @@ public class GameEventsHandler {
                         ServiceFallbacks.giveMoney(killerPlayer, reward);
                     }
 
-                    PlayerStats killerStats = match.getPlayerStats().get(killerPlayer.getUUID());
-                    if (killerStats != null) killerStats.incrementKills();
+                    match.recordKill(killerPlayer.getUUID());
                 }
             } else {
                 Component deathMessage = deadPlayer.getDisplayName().copy().withStyle(ChatFormatting.RED)
@@ -133,4 +134,42 @@ public class GameEventsHandler {
             QisCSGO.LOGGER.error("处理玩家死亡事件时发生异常", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * C4 物品实体进入世界时（玩家主动丢出等其他掉落途径），登记到所属比赛的 C4 管理器。
+     * 所属比赛优先按丢出者判断，其次按实体所在的比赛区域判断。
+     */
+    @SubscribeEvent
+    public static void onEntityJoinLevel(EntityJoinLevelEvent event) {
+        if (event.getLevel().isClientSide() || !(event.getEntity() instanceof ItemEntity item)) return;
+        if (!C4Manager.isC4(item.getItem())) return;
+
+        Match match = null;
+        if (item.getOwner() instanceof ServerPlayer thrower) {
+            match = ServiceFallbacks.getPlayerMatch(thrower);
+        }
+        if (match == null) {
+            for (Match candidate : ServiceFallbacks.getAllMatches()) {
+                if (candidate.isInEffectArea(item.getX(), item.getY(), item.getZ())) {
+                    match = candidate;
+                    break;
+                }
+            }
+        }
+        if (match != null && match.getState() == Match.MatchState.IN_PROGRESS) {
+            match.getC4Manager().onC4Dropped(item);
+        }
+    }
+
+    /**
+     * 物品实体离开世界（被拾取、清理或卸载）时，清除 C4 管理器中对它的引用。
+     * 拾取时物品堆叠会先被清空，因此这里按实体引用比较而不检查物品类型。
+     */
+    @SubscribeEvent
+    public static void onEntityLeaveLevel(EntityLeaveLevelEvent event) {
+        if (event.getLevel().isClientSide() || !(event.getEntity() instanceof ItemEntity item)) return;
+        for (Match match : ServiceFallbacks.getAllMatches()) {
+            match.getC4Manager().onEntityRemoved(item);
+        }
+    }
+}
@@ -12,7 +12,7 @@ import net.neoforged.neoforge.event.entity.player.PlayerEvent;
 
 /**
  * 玩家生命周期事件处理器
- * 处理玩家登录、重生等事件，确保玩家在比赛中的状态得到正确恢复。
+ * 处理玩家登录、登出、重生等事件，确保玩家在比赛中的状态得到正确恢复。
  */
 @EventBusSubscriber
 public class PlayerLifecycleEventsHandler {
@@ -27,6 +27,11 @@ public class PlayerLifecycleEventsHandler {
                 // 通过 ServiceFallbacks 获取 match（支持替代实现或回退）
                 Match match = ServiceFallbacks.getPlayerMatch(player);
 
+                // 新的 ServerPlayer 句柄，在线名单需要重建
+                if (match != null) {
+                    match.getRoster().invalidate();
+                }
+
                 if (match != null && match.getState() == Match.MatchState.IN_PROGRESS) {
                     player.setGameMode(GameType.SPECTATOR);
                     player.sendSystemMessage(Component.literal("你已重新连接至比赛，请等待下一回合开始。"));
@@ -53,6 +58,11 @@ public class PlayerLifecycleEventsHandler {
             if (event.getEntity() instanceof ServerPlayer player) {
                 Match match = ServiceFallbacks.getPlayerMatch(player);
 
+                // 重生会创建新的 ServerPlayer 实例，旧句柄已失效
+                if (match != null) {
+                    match.getRoster().invalidate();
+                }
+
                 if (match != null && match.getState() == Match.MatchState.IN_PROGRESS) {
                     match.handlePlayerRespawn(player);
                     QisCSGO.LOGGER.debug("处理玩家 {} 在比赛中的重生", player.getName().getString());
@@ -62,4 +72,28 @@ public class PlayerLifecycleEventsHandler {
             QisCSGO.LOGGER.error("处理玩家重生事件时发生异常", e);
         }
     }
+
+    /**
+     * 处理玩家登出事件。
+     */
+    @SubscribeEvent
+    public static void onPlayerLogout(PlayerEvent.PlayerLoggedOutEvent event) {
+        try {
+            if (event.getEntity() instanceof ServerPlayer player) {
+                Match match = ServiceFallbacks.getPlayerMatch(player);
+
+                // 玩家离线，从在线名单中剔除其句柄，并同步存活计数
+                if (match != null) {
+                    match.handlePlayerDisconnect(player);
+                }
+
+                // 离线的观战者不再接收任何比赛的视觉效果
+                for (Match watched : ServiceFallbacks.getAllMatches()) {
+                    watched.removeWatcher(player.getUUID());
+                }
+            }
+        } catch (Exception e) {
+            QisCSGO.LOGGER.error("处理玩家登出事件时发生异常", e);
+        }
+    }
 }
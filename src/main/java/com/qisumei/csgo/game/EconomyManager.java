@@ -1,14 +1,16 @@
 package com.qisumei.csgo.game;
 
-import com.qisumei.csgo.config.ServerConfig;
+import com.qisumei.csgo.economy.KillRewardTable;
 import com.qisumei.csgo.economy.VirtualMoneyManager;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.item.ItemStack;
-import com.qisumei.csgo.util.ItemNBTHelper;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.UUID;
 
 /**
  * 经济系统管理类 - 使用虚拟货币系统。
@@ -40,6 +42,33 @@ public final class EconomyManager {
             true
         );
     }
+    /**
+     * 批量给多名玩家增加货币，不发送任何提示（由调用方合并成每人一条通知）。
+     * @param players 玩家数组
+     * @param amounts 与 players 下标一一对应的数量（<= 0 的条目不入账）
+     * @return 与 players 下标一一对应的操作后余额
+     */
+    public static int[] creditAll(ServerPlayer[] players, int[] amounts) {
+        UUID[] ids = new UUID[players.length];
+        for (int i = 0; i < players.length; i++) {
+            ids[i] = players[i].getUUID();
+        }
+        return VirtualMoneyManager.getInstance().getLedger().creditAll(ids, amounts);
+    }
+
+    /**
+     * 批量设置多名玩家的货币数量，不发送任何提示。
+     * @param players 玩家数组
+     * @param amount 新的货币数量
+     */
+    public static void setMoneyAll(ServerPlayer[] players, int amount) {
+        List<UUID> ids = new ArrayList<>(players.length);
+        for (ServerPlayer player : players) {
+            ids.add(player.getUUID());
+        }
+        VirtualMoneyManager.getInstance().getLedger().setAll(ids, amount);
+    }
+
     /**
      * 扣除玩家货币。
      * @param player 玩家对象（不能为 null）
@@ -108,40 +137,12 @@ public final class EconomyManager {
 
     /**
      * 根据使用的武器类型获取击杀奖励金额。
-     * 使用 Java 21 的 stream 和模式匹配来简化武器类型判断。
+     * 委托给预先合并好的 {@link KillRewardTable}，只做一次按物品的查询。
      * 
      * @param weapon 武器物品栈
      * @return 击杀奖励金额
      */
     public static int getRewardForKill(ItemStack weapon) {
-        if (weapon == null || weapon.isEmpty()) {
-            return ServerConfig.killRewardPistol;
-        }
-
-        // 使用方法引用简化代码
-        if (ServerConfig.weaponsKnife.stream().anyMatch(id -> ItemNBTHelper.idMatches(weapon, id))) {
-            return ServerConfig.killRewardKnife;
-        }
-        if (ServerConfig.weaponsPistol.stream().anyMatch(id -> ItemNBTHelper.idMatches(weapon, id))) {
-            return ServerConfig.killRewardPistol;
-        }
-        if (ServerConfig.weaponsSmg.stream().anyMatch(id -> ItemNBTHelper.idMatches(weapon, id))) {
-            return ServerConfig.killRewardSmg;
-        }
-        if (ServerConfig.weaponsHeavy.stream().anyMatch(id -> ItemNBTHelper.idMatches(weapon, id))) {
-            return ServerConfig.killRewardHeavy;
-        }
-        if (ServerConfig.weaponsRifle.stream().anyMatch(id -> ItemNBTHelper.idMatches(weapon, id))) {
-            return ServerConfig.killRewardRifle;
-        }
-        if (ServerConfig.weaponsAwp.stream().anyMatch(id -> ItemNBTHelper.idMatches(weapon, id))) {
-            return ServerConfig.killRewardAwp;
-        }
-        if (ServerConfig.weaponsGrenade.stream().anyMatch(id -> ItemNBTHelper.idMatches(weapon, id))) {
-            return ServerConfig.killRewardGrenade;
-        }
-
-        // 默认返回手枪击杀奖励
-        return ServerConfig.killRewardPistol;
+        return KillRewardTable.getReward(weapon);
     }
 }
@@ -3,6 +3,7 @@ package com.qisumei.csgo.game;
 import com.qisumei.csgo.QisCSGO;
 import com.qisumei.csgo.c4.C4Controller;
 import com.qisumei.csgo.c4.C4Manager;
+import com.qisumei.csgo.c4.handler.C4CountdownHandler;
 import com.qisumei.csgo.config.ServerConfig;
 import com.qisumei.csgo.service.EconomyService;
 import com.qisumei.csgo.game.preset.MatchPreset;
@@ -16,7 +17,6 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerBossEvent;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.world.BossEvent;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.effect.MobEffects;
 import net.minecraft.world.item.ItemStack;
@@ -63,24 +63,30 @@ public class Match implements MatchContext {
         PAUSED 
     }
 
+    // 比赛区域向外扩展的距离（方块），烟雾等效果可能飘出出生点/包点围成的范围
+    private static final double EFFECT_AREA_MARGIN_XZ = 48.0;
+    private static final double EFFECT_AREA_MARGIN_Y = 24.0;
+    // 体素快照不完整（比赛区域有区块未加载）时重新采集的间隔（tick）
+    private static final int VOXEL_SNAPSHOT_RETRY_TICKS = 100;
+
     // --- 比赛基础信息（使用 final 提高代码安全性和可读性）---
     private final String name;
     private MatchState state;
     private final int maxPlayers;
     private final MinecraftServer server;
     private final Map<UUID, PlayerStats> playerStats;
+    // 已解析的在线玩家名单缓存（按队伍拆分），供每 tick 的热点循环使用
+    private final MatchRoster roster;
     private int totalRounds;
     private int roundTimeSeconds;
 
-    // --- 队伍信息 ---
-    private final String ctTeamName;
-    private final String tTeamName;
+    // --- 队伍信息（按 Team.ordinal() 下标）---
+    private final String[] teamNames = new String[Team.COUNT];
 
-    // --- 地图信息 ---
-    private final List<BlockPos> ctSpawns;
-    private final List<BlockPos> tSpawns;
-    private BlockPos ctShopPos;
-    private BlockPos tShopPos;
+    // --- 地图信息（出生点与商店位置按 Team.ordinal() 下标）---
+    @SuppressWarnings("unchecked")
+    private final List<BlockPos>[] spawns = new List[Team.COUNT];
+    private final BlockPos[] shopPositions = new BlockPos[Team.COUNT];
     private AABB bombsiteA;
     private AABB bombsiteB;
 
@@ -89,21 +95,41 @@ public class Match implements MatchContext {
 
     // --- 回合状态 ---
     private int currentRound;
-    private int ctScore;
-    private int tScore;
+    private final int[] scores = new int[Team.COUNT];
     private RoundState roundState;
-    private int tickCounter;
+    // 当前回合阶段（购买/战斗/回合间歇）的到期任务，剩余时间直接由任务句柄给出
+    private MatchScheduler.Task phaseTimer;
     private final Set<UUID> alivePlayers;
-    private String lastRoundWinner;
+    private final Set<UUID> alivePlayersView;
+    // 各队存活人数，随 alivePlayers 增量维护，回合结束判定无需遍历玩家
+    private final int[] aliveCounts = new int[Team.COUNT];
+    // 上回合获胜方，第一回合前为 null
+    private Team lastRoundWinner;
     private final Set<UUID> roundSurvivors;
     // 记录每个队伍最后一名死亡玩家的位置，用于全队死亡后的观察视角
-    private final Map<String, BlockPos> lastTeammateDeathPos = new HashMap<>();
+    private final BlockPos[] lastTeammateDeathPos = new BlockPos[Team.COUNT];
+
+    // --- 消息广播通道（每条消息只构造一个包）---
+    private final MatchBroadcastChannel broadcast;
 
-    // --- Boss栏计时器 ---
-    private final ServerBossEvent bossBar;
+    // --- Boss栏计时器（只在显示内容变化时推送更新）---
+    private final MatchBossBar bossBar;
 
     // Area manager for map-related utilities
     private final MatchAreaManager areaManager;
+    // 比赛进行期间缓存的比赛区域（已向外扩展），用于判断粒子等效果属于哪场比赛；开始比赛时计算一次
+    private AABB effectArea;
+    // 比赛区域的方块实心度快照，开始比赛或应用预设时采集；可在工作线程读取
+    private volatile VoxelSnapshot voxelSnapshot;
+    // 快照不完整时周期性重新采集的任务，采集完整后自行取消
+    private MatchScheduler.Task voxelSnapshotRetry;
+    // 通过 /cs watch 观战本场比赛的玩家
+    private final Set<UUID> watchers = new HashSet<>();
+    // 烟雾粒子预算：当前 tick、已分配数量、本 tick 与上一 tick 的申请者数量
+    private long particleBudgetTick = Long.MIN_VALUE;
+    private int particleBudgetUsed;
+    private int particleRequesters;
+    private int lastTickParticleRequesters;
 
     // --- 计分板管理器（职责委托） ---
     private final MatchScoreboard scoreboardManager;
@@ -126,6 +152,14 @@ public class Match implements MatchContext {
     // --- 回合经济服务，处理经济分配逻辑 ---
     private final RoundEconomyService roundEconomyService;
 
+    // 出生点/观战目标随机选择共用的随机数生成器
+    private final Random random = new Random();
+
+    // --- tick 分阶段耗时统计 ---
+    private final MatchTickProfiler tickProfiler = new MatchTickProfiler();
+
+    // --- 时间轮调度器：回合阶段、C4 倒计时与周期性 UI 刷新 ---
+    private final MatchScheduler scheduler = new MatchScheduler();
 
     /**
      * Match类的构造函数，用于初始化一场新的比赛。
@@ -153,34 +187,32 @@ public class Match implements MatchContext {
         this.maxPlayers = maxPlayers;
         this.server = server;
         this.playerStats = new HashMap<>();
-        this.ctSpawns = new ArrayList<>();
-        this.tSpawns = new ArrayList<>();
+        this.roster = new MatchRoster(server, this.playerStats);
+        this.broadcast = new MatchBroadcastChannel(this.roster);
+        for (Team team : Team.values()) {
+            this.spawns[team.ordinal()] = new ArrayList<>();
+        }
         this.totalRounds = 12;
         this.roundTimeSeconds = 120; // 默认2分钟
         String safeName = name.replaceAll("[^a-zA-Z0-9_.-]", "");
-        this.ctTeamName = safeName + "_CT";
-        this.tTeamName = safeName + "_T";
+        for (Team team : Team.values()) {
+            this.teamNames[team.ordinal()] = safeName + "_" + team.getId();
+        }
         this.currentRound = 0;
-        this.ctScore = 0;
-        this.tScore = 0;
         this.roundState = RoundState.PAUSED;
-        this.tickCounter = 0;
         this.alivePlayers = new HashSet<>();
-        this.lastRoundWinner = "";
+        this.alivePlayersView = Collections.unmodifiableSet(this.alivePlayers);
+        this.lastRoundWinner = null;
         this.roundSurvivors = new HashSet<>();
 
         // 初始化 MatchAreaManager（负责区域/掉落物逻辑）
-        this.areaManager = new MatchAreaManager(this, () -> this.ctSpawns, () -> this.tSpawns);
+        this.areaManager = new MatchAreaManager(this, () -> getSpawns(Team.CT), () -> getSpawns(Team.T));
 
         // 初始化 C4 管理器，如果外部没有提供则创建默认实现并注入当前 Match
         this.c4Manager = Objects.requireNonNullElseGet(c4Manager, () -> new C4Manager(this));
 
         // 初始化Boss栏
-        this.bossBar = new ServerBossEvent(
-            Component.literal("等待比赛开始..."),
-            BossEvent.BossBarColor.WHITE,
-            BossEvent.BossBarOverlay.PROGRESS
-        );
+        this.bossBar = new MatchBossBar();
 
         // 初始化计分板管理器，允许注入
         this.scoreboardManager = Objects.requireNonNullElseGet(scoreboardManager, () -> new MatchScoreboardManager(this));
@@ -231,10 +263,10 @@ public class Match implements MatchContext {
      */
     public MatchPreset toPreset() {
         return new MatchPreset(
-            this.ctSpawns,
-            this.tSpawns,
-            this.ctShopPos,
-            this.tShopPos,
+            getSpawns(Team.CT),
+            getSpawns(Team.T),
+            getShopPos(Team.CT),
+            getShopPos(Team.T),
             this.bombsiteA,
             this.bombsiteB,
             this.totalRounds,
@@ -247,16 +279,17 @@ public class Match implements MatchContext {
      * @param preset 包含比赛设置的预设对象。
      */
     public void applyPreset(MatchPreset preset) {
-        this.ctSpawns.clear();
-        this.ctSpawns.addAll(preset.ctSpawns);
-        this.tSpawns.clear();
-        this.tSpawns.addAll(preset.tSpawns);
-        this.ctShopPos = preset.ctShopPos;
-        this.tShopPos = preset.tShopPos;
+        getSpawns(Team.CT).clear();
+        getSpawns(Team.CT).addAll(preset.ctSpawns);
+        getSpawns(Team.T).clear();
+        getSpawns(Team.T).addAll(preset.tSpawns);
+        this.shopPositions[Team.CT.ordinal()] = preset.ctShopPos;
+        this.shopPositions[Team.T.ordinal()] = preset.tShopPos;
         this.bombsiteA = preset.bombsiteA;
         this.bombsiteB = preset.bombsiteB;
         this.totalRounds = preset.totalRounds;
         this.roundTimeSeconds = preset.roundTimeSeconds;
+        this.voxelSnapshot = areaManager.captureVoxelSnapshot();
     }
 
     /**
@@ -267,19 +300,25 @@ public class Match implements MatchContext {
         // 防御性检查：如果比赛没有玩家，直接返回并记录日志，避免进入不安全的运行时代码路径。
         if (this.playerStats.isEmpty()) {
             QisCSGO.LOGGER.warn("尝试开始比赛 '{}'，但没有玩家注册；取消开始。", this.name);
-            this.bossBar.setName(Component.literal("比赛无法开始：没有玩家"));
+            this.bossBar.showMessage(Component.literal("比赛无法开始：没有玩家"));
             return;
         }
         
         // 检查是否设置了出生点
-        if (this.ctSpawns.isEmpty() || this.tSpawns.isEmpty()) {
+        if (getSpawns(Team.CT).isEmpty() || getSpawns(Team.T).isEmpty()) {
             QisCSGO.LOGGER.error("尝试开始比赛 '{}'，但未设置完整的出生点（CT: {}, T: {}）", 
-                this.name, this.ctSpawns.size(), this.tSpawns.size());
+                this.name, getSpawns(Team.CT).size(), getSpawns(Team.T).size());
             broadcastToAllPlayersInMatch(Component.literal("§c比赛无法开始：未设置完整的出生点！").withStyle(ChatFormatting.RED));
             return;
         }
 
         this.state = MatchState.IN_PROGRESS;
+        AABB area = getMatchAreaBoundingBox();
+        this.effectArea = area != null ? area.inflate(EFFECT_AREA_MARGIN_XZ, EFFECT_AREA_MARGIN_Y, EFFECT_AREA_MARGIN_XZ) : null;
+
+        // 周期性 UI 刷新：计分板每秒一次，观战视角每 5 tick 一次
+        scheduler.scheduleRepeating(20, 20, tickProfiler.timed(MatchTickProfiler.Phase.SCOREBOARD, scoreboardManager::updateScoreboard));
+        scheduler.scheduleRepeating(5, 5, tickProfiler.timed(MatchTickProfiler.Phase.SPECTATOR, this::updateSpectatorCameras));
 
         // 使用辅助方法遍历所有在线玩家，减少重复代码
         forEachOnlinePlayer((player, stats) -> setPlayerKnockbackResistance(player, 1000.0));
@@ -289,6 +328,8 @@ public class Match implements MatchContext {
         }
         broadcastToAllPlayersInMatch(Component.literal("比赛开始！"));
         startNewRound();
+        // 玩家已传送到地图上，此时再采集快照；仍有区块未加载时稍后重试
+        refreshVoxelSnapshot();
     }
 
     /**
@@ -308,23 +349,21 @@ public class Match implements MatchContext {
         }
         
         // 给玩家广播当前比分
-        String titleJson = String.format(
-            "[{\"text\":\"CT \",\"color\":\"blue\"},{\"text\":\"%d - %d\",\"color\":\"white\"},{\"text\":\" T\",\"color\":\"gold\"}]",
-            ctScore, tScore
-        );
-        
-        forEachOnlinePlayer((player, stats) -> commandExecutor.executeGlobal("title " + player.getName().getString() + " title " + titleJson));
+        Component scoreTitle = Component.literal("CT ").withStyle(ChatFormatting.BLUE)
+            .append(Component.literal(getScore(Team.CT) + " - " + getScore(Team.T)).withStyle(ChatFormatting.WHITE))
+            .append(Component.literal(" T").withStyle(ChatFormatting.GOLD));
+        forEachOnlinePlayer((player, stats) -> commandExecutor.sendTitle(player, scoreTitle));
 
         // 全局聊天广播比分
-        String chatJson = String.format(
-            "[{\"text\":\"%s：\",\"color\":\"yellow\"},{\"text\":\"CT \",\"color\":\"blue\"},{\"text\":\"%d:%d\",\"color\":\"white\",\"bold\":true},{\"text\":\" T\",\"color\":\"gold\"}]",
-            this.name, ctScore, tScore
-        );
-        commandExecutor.executeGlobal("tellraw @a " + chatJson);
+        Component scoreChat = Component.literal(this.name + "：").withStyle(ChatFormatting.YELLOW)
+            .append(Component.literal("CT ").withStyle(ChatFormatting.BLUE))
+            .append(Component.literal(getScore(Team.CT) + ":" + getScore(Team.T)).withStyle(ChatFormatting.WHITE, ChatFormatting.BOLD))
+            .append(Component.literal(" T").withStyle(ChatFormatting.GOLD));
+        commandExecutor.broadcastSystemMessage(scoreChat);
 
         // 4. 设置回合状态为购买阶段
         this.roundState = RoundState.BUY_PHASE;
-        this.tickCounter = ServerConfig.buyPhaseSeconds * 20;
+        schedulePhaseTimer(ServerConfig.buyPhaseSeconds * 20, this::beginRoundInProgress);
 
         // 5. 传送玩家、清空背包、并发放该回合应有的装备
         teleportAndPreparePlayers();
@@ -350,43 +389,84 @@ public class Match implements MatchContext {
      */
     public void tick() {
         if (state != MatchState.IN_PROGRESS) return;
-        
+
+        // 分阶段耗时统计：每个阶段结束时打点一次
+        final long tickStart = System.nanoTime();
+        long t = tickStart;
+
         // 更新C4管理器
         c4Manager.tick();
+        t = tickProfiler.lap(MatchTickProfiler.Phase.C4, t);
 
         // 购买阶段区域限制逻辑
         if (roundState == RoundState.BUY_PHASE) {
             checkPlayerBuyZone();
+            t = tickProfiler.lap(MatchTickProfiler.Phase.BUY_ZONE, t);
         }
 
-        // 处理主计时器
-        if (tickCounter > 0) {
-            tickCounter--;
-            if (tickCounter == 0) {
-                if (roundState == RoundState.BUY_PHASE) {
-                    beginRoundInProgress(); // 1. 处理购买阶段结束
-                } 
-                // 2. 处理战斗阶段结束，并加入C4检查
-                else if (roundState == RoundState.IN_PROGRESS && !c4Manager.isC4Planted()) {
-                    endRound("CT", "时间耗尽");
-                } 
-                else if (roundState == RoundState.ROUND_END) {
-                    if (this.state == MatchState.IN_PROGRESS) {
-                        startNewRound(); // 3. 处理回合间歇结束
-                    }
-                }
-            }
+        // 推进时间轮：回合阶段切换、C4 倒计时、计分板与观战视角刷新都在这里到期执行
+        scheduler.tick();
+        t = tickProfiler.lap(MatchTickProfiler.Phase.SCHEDULER, t);
+
+        // 每一tick都更新Boss栏，以保证进度条平滑
+        updateBossBar();
+        t = tickProfiler.lap(MatchTickProfiler.Phase.BOSS_BAR, t);
+
+        tickProfiler.record(MatchTickProfiler.Phase.TOTAL, t - tickStart);
+    }
+
+    /**
+     * 安排当前回合阶段的到期任务，并取消上一个阶段尚未到期的任务。
+     * @param ticks 阶段持续的 tick 数
+     * @param onExpire 阶段结束时执行的动作
+     */
+    private void schedulePhaseTimer(int ticks, Runnable onExpire) {
+        if (this.phaseTimer != null) {
+            this.phaseTimer.cancel();
         }
-        // 在每秒的 tick 中，更新计分板
-        if (server.getTickCount() % 20 == 0) {
-            scoreboardManager.updateScoreboard();
+        this.phaseTimer = scheduler.schedule(ticks, onExpire);
+    }
+
+    /**
+     * @return 当前回合阶段剩余的 tick 数，没有进行中的阶段计时则返回 0
+     */
+    private int getPhaseTicksLeft() {
+        return this.phaseTimer != null ? this.phaseTimer.getTicksRemaining() : 0;
+    }
+
+    /**
+     * 战斗阶段时间耗尽：C4 未安放时 CT 获胜，已安放则交由 C4 倒计时决定。
+     */
+    private void onRoundTimeExpired() {
+        if (roundState == RoundState.IN_PROGRESS && !c4Manager.isC4Planted()) {
+            endRound(Team.CT, "时间耗尽");
         }
-        if (server.getTickCount() % 5 == 0) {
-            updateSpectatorCameras();
+    }
+
+    /**
+     * 回合间歇结束，进入下一回合。
+     */
+    private void onRoundEndDelayExpired() {
+        if (this.state == MatchState.IN_PROGRESS && roundState == RoundState.ROUND_END) {
+            startNewRound();
         }
-        
-        // 每一tick都更新Boss栏，以保证进度条平滑
-        updateBossBar();
+    }
+
+    /**
+     * 获取本场比赛的时间轮调度器。
+     * @return MatchScheduler 实例
+     */
+    @Override
+    public MatchScheduler getScheduler() {
+        return this.scheduler;
+    }
+
+    /**
+     * 获取本场比赛的 tick 分阶段耗时统计器。
+     * @return MatchTickProfiler 实例
+     */
+    public MatchTickProfiler getTickProfiler() {
+        return this.tickProfiler;
     }
 
     /**
@@ -397,6 +477,85 @@ public class Match implements MatchContext {
         return this.areaManager.getMatchAreaBoundingBox();
     }
 
+    /**
+     * 重新采集体素快照。快照不完整（有区块未加载，未知区块段按实心处理）时，
+     * 每隔 {@link #VOXEL_SNAPSHOT_RETRY_TICKS} tick 重新采集一次，直到快照完整或比赛结束。
+     */
+    private void refreshVoxelSnapshot() {
+        this.voxelSnapshot = areaManager.captureVoxelSnapshot();
+        if (isVoxelSnapshotComplete() || (voxelSnapshotRetry != null && voxelSnapshotRetry.isActive())) return;
+        this.voxelSnapshotRetry = scheduler.scheduleRepeating(VOXEL_SNAPSHOT_RETRY_TICKS, VOXEL_SNAPSHOT_RETRY_TICKS, () -> {
+            this.voxelSnapshot = areaManager.captureVoxelSnapshot();
+            if (isVoxelSnapshotComplete()) {
+                this.voxelSnapshotRetry.cancel();
+            }
+        });
+    }
+
+    private boolean isVoxelSnapshotComplete() {
+        VoxelSnapshot snapshot = this.voxelSnapshot;
+        return snapshot == null || snapshot.isComplete();
+    }
+
+    /**
+     * 获取比赛区域的方块实心度快照（开始比赛或应用预设时采集）。
+     * 快照不可变，可以在工作线程中使用；比赛进行中地图的改动不会反映在快照中。
+     * 采集时未加载的区块按实心处理，可用 {@link VoxelSnapshot#isComplete()} 判断；比赛开始后会在区块加载后重新采集。
+     * @return 快照，尚未采集或区域无效时返回 null
+     */
+    public VoxelSnapshot getVoxelSnapshot() {
+        return this.voxelSnapshot;
+    }
+
+    /**
+     * 判断一个坐标是否属于正在进行的本场比赛（位于开始比赛时缓存的比赛区域内）。
+     */
+    public boolean isInEffectArea(double x, double y, double z) {
+        AABB area = this.effectArea;
+        return state == MatchState.IN_PROGRESS && area != null && area.contains(x, y, z);
+    }
+
+    /**
+     * 从本场比赛每 tick 的烟雾粒子预算（{@link ServerConfig#smokeParticleBudget}）中申请粒子数。
+     * 预算按上一 tick 的申请者数量平分，因此每颗烟雾的份额不受实体 tick 顺序影响。
+     * @param gameTime 当前世界时间，用于识别新的 tick
+     * @param wanted 希望生成的粒子数
+     * @return 实际允许生成的粒子数
+     */
+    public int acquireParticleBudget(long gameTime, int wanted) {
+        if (gameTime != particleBudgetTick) {
+            lastTickParticleRequesters = particleRequesters;
+            particleRequesters = 0;
+            particleBudgetUsed = 0;
+            particleBudgetTick = gameTime;
+        }
+        particleRequesters++;
+        int budget = ServerConfig.smokeParticleBudget;
+        int share = budget / Math.max(particleRequesters, lastTickParticleRequesters);
+        int granted = Math.min(wanted, Math.min(share, budget - particleBudgetUsed));
+        if (granted <= 0) return 0;
+        particleBudgetUsed += granted;
+        return granted;
+    }
+
+    /**
+     * 添加一名观战者（不参与比赛，只接收比赛中的视觉效果）。
+     */
+    public void addWatcher(UUID playerId) {
+        watchers.add(playerId);
+    }
+
+    public void removeWatcher(UUID playerId) {
+        watchers.remove(playerId);
+    }
+
+    /**
+     * @return 观战者的 UUID 集合（只读）
+     */
+    public Set<UUID> getWatchers() {
+        return Collections.unmodifiableSet(watchers);
+    }
+
     /**
      * 【重构】清理比赛区域内所有掉落的物品实体（委托给 areaManager）。
      */
@@ -409,18 +568,14 @@ public class Match implements MatchContext {
      */
     private void checkPlayerBuyZone() {
         final double maxDistance = 10.0;
-        Random random = new Random();
-
-        for (UUID playerUUID : playerStats.keySet()) {
-            ServerPlayer player = server.getPlayerList().getPlayer(playerUUID);
-            if (player == null) continue;
 
-            PlayerStats stats = playerStats.get(playerUUID);
-            if (stats == null) continue;
-
-            String team = stats.getTeam();
-            BlockPos shopPos = "CT".equals(team) ? ctShopPos : tShopPos;
-            List<BlockPos> spawns = "CT".equals(team) ? ctSpawns : tSpawns;
+        ServerPlayer[] players = roster.getOnlinePlayers();
+        PlayerStats[] statsArray = roster.getOnlineStats();
+        for (int i = 0; i < players.length; i++) {
+            ServerPlayer player = players[i];
+            Team team = statsArray[i].getTeam();
+            BlockPos shopPos = getShopPos(team);
+            List<BlockPos> spawns = getSpawns(team);
 
             if (shopPos == null || spawns.isEmpty()) continue;
 
@@ -445,9 +600,9 @@ public class Match implements MatchContext {
         broadcastToAllPlayersInMatch(Component.literal("半场换边！队伍已交换。").withStyle(ChatFormatting.YELLOW));
         
         // 交换比分
-        int tempScore = this.ctScore;
-        this.ctScore = this.tScore;
-        this.tScore = tempScore;
+        int tempScore = this.scores[Team.CT.ordinal()];
+        this.scores[Team.CT.ordinal()] = this.scores[Team.T.ordinal()];
+        this.scores[Team.T.ordinal()] = tempScore;
         
         // 收集受影响的玩家
         Map<UUID, ServerPlayer> affectedPlayers = new HashMap<>();
@@ -455,15 +610,15 @@ public class Match implements MatchContext {
         // 更新玩家队伍信息
         for (Map.Entry<UUID, PlayerStats> entry : playerStats.entrySet()) {
             PlayerStats stats = entry.getValue();
-            String oldTeam = stats.getTeam();
-            String newTeam = "CT".equals(oldTeam) ? "T" : "CT";
-            stats.setTeam(newTeam);
+            stats.setTeam(stats.getTeam().opposite());
             
             ServerPlayer player = server.getPlayerList().getPlayer(entry.getKey());
             if (player != null) {
                 affectedPlayers.put(entry.getKey(), player);
             }
         }
+        // 队伍已变化，按队伍拆分的在线名单需要重建
+        roster.invalidate();
         
         // 使用TeamSwapService批量更新玩家队伍信息
         teamSwapService.updatePlayersTeam(affectedPlayers, playerStats, getCtTeamName(), getTTeamName());
@@ -481,21 +636,19 @@ public class Match implements MatchContext {
      * 在回合开始时，传送所有玩家到各自的出生点并准备他们的状态。
      */
     private void teleportAndPreparePlayers() {
-        Random random = new Random();
         boolean isPistolRound = (currentRound == 1 || currentRound == (totalRounds / 2) + 1);
 
-        this.alivePlayers.clear();
-        this.alivePlayers.addAll(playerStats.keySet());
-
-        for (UUID playerUUID : playerStats.keySet()) {
-            ServerPlayer player = server.getPlayerList().getPlayer(playerUUID);
-            if (player == null) continue;
+        // 只有在线玩家参与本回合，离线玩家不计入存活
+        resetAlivePlayers();
 
-            PlayerStats stats = getPlayerStats().get(playerUUID);
-            if (stats == null) continue;
+        ServerPlayer[] players = roster.getOnlinePlayers();
+        PlayerStats[] statsArray = roster.getOnlineStats();
+        for (int i = 0; i < players.length; i++) {
+            ServerPlayer player = players[i];
+            PlayerStats stats = statsArray[i];
 
-            String team = stats.getTeam();
-            boolean wasSurvivor = this.roundSurvivors.contains(playerUUID);
+            Team team = stats.getTeam();
+            boolean wasSurvivor = this.roundSurvivors.contains(player.getUUID());
 
             // 只有在以下情况才清空背包：
             // 1. 手枪局（所有人都清空）
@@ -527,7 +680,7 @@ public class Match implements MatchContext {
             
             player.addEffect(new MobEffectInstance(MobEffects.DAMAGE_RESISTANCE, ServerConfig.buyPhaseSeconds * 20, 4, false, false, true));
 
-            List<BlockPos> spawns = "CT".equals(team) ? ctSpawns : tSpawns;
+            List<BlockPos> spawns = getSpawns(team);
             
             if (spawns.isEmpty()) {
                 QisCSGO.LOGGER.error("比赛 '{}' 无法传送 {} 队玩家，因为没有设置出生点！", this.name, team);
@@ -573,7 +726,7 @@ public class Match implements MatchContext {
      * @param player 接收装备的玩家。
      * @param team 玩家所属队伍。
      */
-    private void giveInitialGear(ServerPlayer player, String team) {
+    private void giveInitialGear(ServerPlayer player, Team team) {
         // 使用 PlayerService 发放装备
         this.playerService.giveInitialGear(player, team);
     }
@@ -583,19 +736,16 @@ public class Match implements MatchContext {
      */
     private void beginRoundInProgress() {
         this.roundState = RoundState.IN_PROGRESS;
-        this.tickCounter = this.roundTimeSeconds * 20;
+        schedulePhaseTimer(this.roundTimeSeconds * 20, this::onRoundTimeExpired);
+        // 购买阶段内可能有玩家离线，战斗开始前按当前名单校准存活计数
+        resetAlivePlayers();
 
         // 传送逻辑防止偷跑
-        Random random = new Random();
-        for (UUID playerUUID : playerStats.keySet()) {
-            ServerPlayer player = server.getPlayerList().getPlayer(playerUUID);
-            if (player == null) continue;
-
-            PlayerStats stats = getPlayerStats().get(playerUUID);
-            if (stats == null) continue;
-
-            String team = stats.getTeam();
-            List<BlockPos> spawns = "CT".equals(team) ? ctSpawns : tSpawns;
+        ServerPlayer[] players = roster.getOnlinePlayers();
+        PlayerStats[] statsArray = roster.getOnlineStats();
+        for (int i = 0; i < players.length; i++) {
+            ServerPlayer player = players[i];
+            List<BlockPos> spawns = getSpawns(statsArray[i].getTeam());
             
             if (!spawns.isEmpty()) {
                 BlockPos spawnPos = spawns.get(random.nextInt(spawns.size()));
@@ -626,25 +776,23 @@ public class Match implements MatchContext {
     private void distributeRoundIncome() {
          boolean isPistolRound = (currentRound == 1 || currentRound == (totalRounds / 2) + 1);
 
-         forEachOnlinePlayer((player, stats) -> {
-            if (isPistolRound) {
-                // 手枪局：使用服务设置起始资金
-                roundEconomyService.distributePistolRoundMoney(player);
-            } else {
-                // 普通回合：根据上回合结果分配收入
-                roundEconomyService.distributeRoundIncome(player, stats, this.lastRoundWinner);
-            }
-        });
+         if (isPistolRound) {
+             // 手枪局：使用服务批量设置起始资金
+             roundEconomyService.distributePistolRoundMoney(roster.getOnlinePlayers());
+         } else {
+             // 普通回合：根据上回合结果批量分配收入
+             roundEconomyService.distributeRoundIncome(roster.getOnlinePlayers(), roster.getOnlineStats(), this.lastRoundWinner);
+         }
      }
 
     /**
      * 根据击杀数（主要）和死亡数（次要，越少越好）获取指定队伍的顶尖玩家列表。
-     * @param team 要查找的队伍 ("CT" 或 "T")。
+     * @param team 要查找的队伍。
      * @return 包含玩家UUID和其统计数据的有序列表。
      */
-    private List<Map.Entry<UUID, PlayerStats>> getRankedPlayers(String team) {
+    private List<Map.Entry<UUID, PlayerStats>> getRankedPlayers(Team team) {
         return playerStats.entrySet().stream()
-            .filter(entry -> team.equals(entry.getValue().getTeam()))
+            .filter(entry -> entry.getValue().getTeam() == team)
             .sorted(Comparator.comparingInt((Map.Entry<UUID, PlayerStats> e) -> e.getValue().getKills())
                           .reversed()
                           .thenComparingInt(e -> e.getValue().getDeaths()))
@@ -660,13 +808,13 @@ public class Match implements MatchContext {
         final String COLUMN_SPACER = "           ";
         final int NAME_PADDING = 12;
 
-        List<Map.Entry<UUID, PlayerStats>> topCtPlayers = getRankedPlayers("CT");
-        List<Map.Entry<UUID, PlayerStats>> topTPlayers = getRankedPlayers("T");
+        List<Map.Entry<UUID, PlayerStats>> topCtPlayers = getRankedPlayers(Team.CT);
+        List<Map.Entry<UUID, PlayerStats>> topTPlayers = getRankedPlayers(Team.T);
 
         broadcastToAllPlayersInMatch(Component.literal(""));
         broadcastToAllPlayersInMatch(Component.literal(SEPARATOR).withStyle(ChatFormatting.GOLD));
 
-        String scoreText = "                本场比分: " + ctScore + ":" + tScore;
+        String scoreText = "                本场比分: " + getScore(Team.CT) + ":" + getScore(Team.T);
         broadcastToAllPlayersInMatch(Component.literal(scoreText).withStyle(ChatFormatting.WHITE, ChatFormatting.BOLD));
 
         Component header = Component.literal("CT击杀数排名").withStyle(ChatFormatting.BLUE)
@@ -731,9 +879,11 @@ public class Match implements MatchContext {
      * 清理所有与本场比赛相关的服务器数据，如队伍和比赛实例。
      */
     private void cleanupMatchData() {
-        commandExecutor.executeGlobal("team remove " + ctTeamName);
-        commandExecutor.executeGlobal("team remove " + tTeamName);
+        for (String teamName : teamNames) {
+            commandExecutor.removeTeam(teamName);
+        }
 
+        watchers.clear();
         com.qisumei.csgo.service.ServiceFallbacks.removeMatch(this.name);
         
         QisCSGO.LOGGER.info("比赛 '{}' 的数据已清理。", this.name);
@@ -744,9 +894,10 @@ public class Match implements MatchContext {
      * @param winningTeam 最终获胜的队伍。
      */
     @SuppressWarnings("unused")
-    private void finishMatch(String winningTeam) {
+    private void finishMatch(Team winningTeam) {
         this.state = MatchState.FINISHED;
-        Component winner = Component.literal(winningTeam).withStyle(winningTeam.equals("CT") ? ChatFormatting.BLUE : ChatFormatting.GOLD);
+        scheduler.cancelAll();
+        Component winner = Component.literal(winningTeam.getId()).withStyle(winningTeam == Team.CT ? ChatFormatting.BLUE : ChatFormatting.GOLD);
         broadcastToAllPlayersInMatch(Component.literal("比赛结束！胜利者是 ").append(winner).append("!"));
         QisCSGO.LOGGER.info("比赛 '{}' 结束, {}方胜利.", name, winningTeam);
         broadcastEndGameStats();
@@ -762,6 +913,7 @@ public class Match implements MatchContext {
      */
     private void handleTie() {
         this.state = MatchState.FINISHED;
+        scheduler.cancelAll();
         broadcastToAllPlayersInMatch(Component.literal("比赛平局！"));
         QisCSGO.LOGGER.info("比赛 '{}' 结束, 平局.", name);
         broadcastEndGameStats();
@@ -773,6 +925,17 @@ public class Match implements MatchContext {
         cleanupMatchData();
     }
 
+    /**
+     * 记录一次击杀并通知计分板更新排名。
+     * @param killerId 击杀者 UUID，不在本场比赛中时忽略
+     */
+    public void recordKill(UUID killerId) {
+        PlayerStats stats = playerStats.get(killerId);
+        if (stats == null) return;
+        stats.incrementKills();
+        scoreboardManager.onPlayerStatsChanged(killerId);
+    }
+
     /**
      * 标记一名玩家在本回合中死亡。
      * @param deadPlayer 死亡的玩家。
@@ -787,11 +950,16 @@ public class Match implements MatchContext {
             deadPlayer.getInventory().setChanged();
         } catch (Exception ignored) {}
 
-        this.lastTeammateDeathPos.put(getPlayerStats().get(deadPlayer.getUUID()).getTeam(), deadPlayer.blockPosition());
-        
-        this.alivePlayers.remove(deadPlayer.getUUID());
         PlayerStats stats = playerStats.get(deadPlayer.getUUID());
-        if(stats != null) stats.incrementDeaths();
+        if (stats != null) {
+            this.lastTeammateDeathPos[stats.getTeam().ordinal()] = deadPlayer.blockPosition();
+        }
+
+        markNotAlive(deadPlayer.getUUID(), stats);
+        if (stats != null) {
+            stats.incrementDeaths();
+            scoreboardManager.onPlayerStatsChanged(deadPlayer.getUUID());
+        }
         
         QisCSGO.LOGGER.info("玩家 {} 在比赛 '{}' 中阵亡。", deadPlayer.getName().getString(), name);
         this.checkRoundEndCondition();
@@ -800,8 +968,52 @@ public class Match implements MatchContext {
         // 隐藏观战者，避免泄露战术信息
         deadPlayer.setInvisible(true);
         findAndSetSpectatorTarget(deadPlayer);
-        
-        this.checkRoundEndCondition();
+    }
+
+    /**
+     * 处理比赛玩家断线：视为本回合阵亡（不计死亡数），并检查回合是否因此结束。
+     * @param player 断线的玩家。
+     */
+    public void handlePlayerDisconnect(ServerPlayer player) {
+        roster.invalidate();
+        if (markNotAlive(player.getUUID(), playerStats.get(player.getUUID()))) {
+            QisCSGO.LOGGER.info("玩家 {} 在比赛 '{}' 中断线，视为本回合阵亡。", player.getName().getString(), name);
+            checkRoundEndCondition();
+        }
+    }
+
+    /**
+     * 按当前在线名单重置存活集合与各队存活计数。
+     */
+    private void resetAlivePlayers() {
+        this.alivePlayers.clear();
+        Arrays.fill(this.aliveCounts, 0);
+        ServerPlayer[] players = roster.getOnlinePlayers();
+        PlayerStats[] statsArray = roster.getOnlineStats();
+        for (int i = 0; i < players.length; i++) {
+            this.alivePlayers.add(players[i].getUUID());
+            this.aliveCounts[statsArray[i].getTeam().ordinal()]++;
+        }
+    }
+
+    /**
+     * 将玩家移出存活集合并同步递减其队伍的存活计数。
+     * @return 玩家此前是否存活
+     */
+    private boolean markNotAlive(UUID playerUUID, PlayerStats stats) {
+        if (!this.alivePlayers.remove(playerUUID)) return false;
+        if (stats != null) this.aliveCounts[stats.getTeam().ordinal()]--;
+        return true;
+    }
+
+    /**
+     * 获取指定队伍当前回合的存活人数。
+     * @param team 队伍
+     * @return 存活人数
+     */
+    @Override
+    public int getAliveCount(Team team) {
+        return this.aliveCounts[team.ordinal()];
     }
     
     /**
@@ -812,14 +1024,12 @@ public class Match implements MatchContext {
         PlayerStats deadPlayerStats = getPlayerStats().get(deadPlayer.getUUID());
         if (deadPlayerStats == null) return;
         
-        String team = deadPlayerStats.getTeam();
+        Team team = deadPlayerStats.getTeam();
         
         ServerPlayer targetPlayer = null;
-        for (UUID playerUUID : this.alivePlayers) {
-            ServerPlayer player = server.getPlayerList().getPlayer(playerUUID);
-            if (player != null && player.gameMode.getGameModeForPlayer() == GameType.SURVIVAL) {
-                PlayerStats stats = playerStats.get(playerUUID);
-                if (stats != null && team.equals(stats.getTeam())) {
+        if (getAliveCount(team) > 0) {
+            for (ServerPlayer player : roster.getTeamPlayers(team)) {
+                if (this.alivePlayers.contains(player.getUUID()) && player.gameMode.getGameModeForPlayer() == GameType.SURVIVAL) {
                     targetPlayer = player;
                     break;
                 }
@@ -829,7 +1039,7 @@ public class Match implements MatchContext {
         if (targetPlayer != null) {
             deadPlayer.setCamera(targetPlayer);
         } else {
-            BlockPos lastDeathPos = this.lastTeammateDeathPos.get(team);
+            BlockPos lastDeathPos = this.lastTeammateDeathPos[team.ordinal()];
             if (lastDeathPos != null) {
                 deadPlayer.teleportTo(lastDeathPos.getX(), lastDeathPos.getY() + 10, lastDeathPos.getZ());
             }
@@ -862,16 +1072,20 @@ public class Match implements MatchContext {
         PlayerStats spectatorStats = getPlayerStats().get(spectator.getUUID());
         if (spectatorStats == null) return;
         
-        String team = spectatorStats.getTeam();
+        Team team = spectatorStats.getTeam();
 
         // 1. 尝试寻找一个随机的、存活的队友
-        List<ServerPlayer> aliveTeammates = alivePlayers.stream()
-            .map(uuid -> server.getPlayerList().getPlayer(uuid))
-            .filter(p -> p != null && team.equals(getPlayerStats().get(p.getUUID()).getTeam()))
-            .toList();
+        List<ServerPlayer> aliveTeammates = new ArrayList<>();
+        if (getAliveCount(team) > 0) {
+            for (ServerPlayer player : roster.getTeamPlayers(team)) {
+                if (alivePlayers.contains(player.getUUID())) {
+                    aliveTeammates.add(player);
+                }
+            }
+        }
 
         if (!aliveTeammates.isEmpty()) {
-            ServerPlayer target = aliveTeammates.get(new Random().nextInt(aliveTeammates.size()));
+            ServerPlayer target = aliveTeammates.get(random.nextInt(aliveTeammates.size()));
             spectator.setCamera(target);
             return;
         }
@@ -884,9 +1098,9 @@ public class Match implements MatchContext {
         }
 
         // 3. 如果C4也未安放，则传送到队伍的一个随机出生点
-        List<BlockPos> spawns = "CT".equals(team) ? ctSpawns : tSpawns;
+        List<BlockPos> spawns = getSpawns(team);
         if (!spawns.isEmpty()) {
-            BlockPos spawnPos = spawns.get(new Random().nextInt(spawns.size()));
+            BlockPos spawnPos = spawns.get(random.nextInt(spawns.size()));
             spectator.teleportTo(server.overworld(), spawnPos.getX() + 0.5, spawnPos.getY(), spawnPos.getZ() + 0.5, spectator.getYRot(), spectator.getXRot());
         }
     }
@@ -908,17 +1122,8 @@ public class Match implements MatchContext {
             return;
         }
 
-        long aliveCtCount = alivePlayers.stream().filter(uuid -> {
-            PlayerStats stats = playerStats.get(uuid);
-            ServerPlayer p = server.getPlayerList().getPlayer(uuid);
-            return stats != null && "CT".equals(stats.getTeam()) && p != null && p.gameMode.getGameModeForPlayer() == GameType.SURVIVAL;
-        }).count();
-
-        long aliveTCount = alivePlayers.stream().filter(uuid -> {
-            PlayerStats stats = playerStats.get(uuid);
-            ServerPlayer p = server.getPlayerList().getPlayer(uuid);
-            return stats != null && "T".equals(stats.getTeam()) && p != null && p.gameMode.getGameModeForPlayer() == GameType.SURVIVAL;
-        }).count();
+        int aliveCtCount = getAliveCount(Team.CT);
+        int aliveTCount = getAliveCount(Team.T);
 
         // 【调试日志】记录当前存活情况
         QisCSGO.LOGGER.debug("比赛 '{}' 第{}回合检查结束条件: CT存活={}, T存活={}, C4已安放={}",
@@ -929,30 +1134,30 @@ public class Match implements MatchContext {
             // C4安放后，如果所有CT都阵亡了，T方立即获胜
             if (aliveCtCount == 0 && aliveTCount > 0) {
                 QisCSGO.LOGGER.info("比赛 '{}' 第{}回合: CT全灭，C4已安放，T方获胜", name, currentRound);
-                endRound("T", "所有CT玩家阵亡");
+                endRound(Team.T, "所有CT玩家阵亡");
             }
             // 如果CT和T同时全灭（理论上不应该发生，但做防御性检查）
             else if (aliveCtCount == 0 && aliveTCount == 0) {
                 QisCSGO.LOGGER.warn("比赛 '{}' 第{}回合: 双方同时全灭，C4已安放，T方获胜", name, currentRound);
-                endRound("T", "双方同时阵亡，C4已安放");
+                endRound(Team.T, "双方同时阵亡，C4已安放");
             }
         } else {
             // C4未安放的情况
             // 【修复】检查T方是否全灭（优先判断，因为没有C4的T方更容易输）
             if (aliveTCount == 0 && aliveCtCount > 0) {
                 QisCSGO.LOGGER.info("比赛 '{}' 第{}回合: T全灭，CT方获胜", name, currentRound);
-                endRound("CT", "所有T玩家阵亡");
+                endRound(Team.CT, "所有T玩家阵亡");
             }
             // 检查CT方是否全灭
             else if (aliveCtCount == 0 && aliveTCount > 0) {
                 QisCSGO.LOGGER.info("比赛 '{}' 第{}回合: CT全灭，T方获胜", name, currentRound);
-                endRound("T", "所有CT玩家阵亡");
+                endRound(Team.T, "所有CT玩家阵亡");
             }
             // 双方同时全灭（极少发生的边界情况）
             // 在没有C4的情况下，双方同时全灭则CT方获胜（因为T方需要完成安放C4的目标）
             else if (aliveCtCount == 0 && aliveTCount == 0) {
                 QisCSGO.LOGGER.warn("比赛 '{}' 第{}回合: 双方同时全灭，CT方获胜（T方未完成目标）", name, currentRound);
-                endRound("CT", "双方同时阵亡");
+                endRound(Team.CT, "双方同时阵亡");
             }
         }
     }
@@ -960,17 +1165,10 @@ public class Match implements MatchContext {
     /**
      * 向指定队伍广播消息。
      * @param message 要广播的消息。
-     * @param team 目标队伍 ("CT" 或 "T")。
+     * @param team 目标队伍。
      */
-    public void broadcastToTeam(Component message, String team) {
-        for (Map.Entry<UUID, PlayerStats> entry : playerStats.entrySet()) {
-            if (team.equals(entry.getValue().getTeam())) {
-                ServerPlayer player = server.getPlayerList().getPlayer(entry.getKey());
-                if (player != null) {
-                    player.sendSystemMessage(message);
-                }
-            }
-        }
+    public void broadcastToTeam(Component message, Team team) {
+        broadcast.toTeam(message, team);
     }
 
 
@@ -995,7 +1193,7 @@ public class Match implements MatchContext {
      * @param message 要广播的消息组件。
      */
     public void broadcastToAllPlayersInMatch(Component message) {
-        forEachOnlinePlayer((player, stats) -> player.sendSystemMessage(message, false));
+        broadcast.toAll(message);
     }
     
     /**
@@ -1003,6 +1201,7 @@ public class Match implements MatchContext {
      */
      public void forceEnd() {
          this.state = MatchState.FINISHED;
+         scheduler.cancelAll();
          broadcastToAllPlayersInMatch(Component.literal("比赛已被管理员强制结束。"));
          c4Manager.reset();
          scoreboardManager.removeScoreboard();
@@ -1024,39 +1223,19 @@ public class Match implements MatchContext {
      */
     private void updateBossBar() {
         switch (this.roundState) {
-            case BUY_PHASE -> {
-                int buyPhaseTotalTicks = ServerConfig.buyPhaseSeconds * 20;
-                float buyProgress = (float) this.tickCounter / buyPhaseTotalTicks;
-                this.bossBar.setName(Component.literal("购买阶段剩余: " + (this.tickCounter / 20 + 1) + "s"));
-                this.bossBar.setColor(BossEvent.BossBarColor.GREEN);
-                this.bossBar.setProgress(buyProgress);
-            }
+            case BUY_PHASE -> this.bossBar.showCountdown(MatchBossBar.Mode.BUY_PHASE,
+                getPhaseTicksLeft(), ServerConfig.buyPhaseSeconds * 20);
             case IN_PROGRESS -> {
                 if (c4Manager.isC4Planted()) {
-                    int c4TotalTicks = 40 * 20;
-                    int c4TicksLeft = c4Manager.getC4TicksLeft();
-                    float c4Progress = (float) c4TicksLeft / c4TotalTicks;
-                    this.bossBar.setName(Component.literal("C4即将爆炸: " + (c4TicksLeft / 20 + 1) + "s").withStyle(ChatFormatting.RED, ChatFormatting.BOLD));
-                    this.bossBar.setColor(BossEvent.BossBarColor.RED);
-                    this.bossBar.setProgress(c4Progress);
+                    this.bossBar.showCountdown(MatchBossBar.Mode.C4,
+                        c4Manager.getC4TicksLeft(), C4CountdownHandler.FUSE_TICKS);
                 } else {
-                    int roundTotalTicks = this.roundTimeSeconds * 20;
-                    float roundProgress = (float) this.tickCounter / roundTotalTicks;
-                    this.bossBar.setName(Component.literal("回合剩余时间: " + (this.tickCounter / 20 + 1) + "s"));
-                    this.bossBar.setColor(BossEvent.BossBarColor.WHITE);
-                    this.bossBar.setProgress(roundProgress);
+                    this.bossBar.showCountdown(MatchBossBar.Mode.ROUND,
+                        getPhaseTicksLeft(), this.roundTimeSeconds * 20);
                 }
             }
-            case ROUND_END -> {
-                this.bossBar.setName(Component.literal("回合结束"));
-                this.bossBar.setColor(BossEvent.BossBarColor.YELLOW);
-                this.bossBar.setProgress(1.0f);
-            }
-            case PAUSED -> {
-                this.bossBar.setName(Component.literal("比赛暂停"));
-                this.bossBar.setColor(BossEvent.BossBarColor.PURPLE);
-                this.bossBar.setProgress(1.0f);
-            }
+            case ROUND_END -> this.bossBar.showStatic(MatchBossBar.Mode.ROUND_END);
+            case PAUSED -> this.bossBar.showStatic(MatchBossBar.Mode.PAUSED);
         }
     }
 
@@ -1067,11 +1246,16 @@ public class Match implements MatchContext {
     @SuppressWarnings("unused")
     public int getMaxPlayers() { return maxPlayers; }
     public int getPlayerCount() { return playerStats.size(); }
-    public String getCtTeamName() { return ctTeamName; }
-    public String getTTeamName() { return tTeamName; }
+    public String getTeamName(Team team) { return teamNames[team.ordinal()]; }
+    public String getCtTeamName() { return getTeamName(Team.CT); }
+    public String getTTeamName() { return getTeamName(Team.T); }
     public Map<UUID, PlayerStats> getPlayerStats() { return playerStats; }
-    public long getCtCount() { return playerStats.values().stream().filter(s -> s.getTeam().equals("CT")).count(); }
-    public long getTCount() { return playerStats.values().stream().filter(s -> s.getTeam().equals("T")).count(); }
+    public long getTeamCount(Team team) { return playerStats.values().stream().filter(s -> s.getTeam() == team).count(); }
+    public long getCtCount() { return getTeamCount(Team.CT); }
+    public long getTCount() { return getTeamCount(Team.T); }
+    public int getScore(Team team) { return scores[team.ordinal()]; }
+    public List<BlockPos> getSpawns(Team team) { return spawns[team.ordinal()]; }
+    public BlockPos getShopPos(Team team) { return shopPositions[team.ordinal()]; }
     public MinecraftServer getServer() { return this.server; }
     
     /**
@@ -1117,27 +1301,34 @@ public class Match implements MatchContext {
     /**
      * 将一名玩家添加到比赛中。
      * @param player 要添加的玩家。
-     * @param team   玩家要加入的队伍 ("CT" 或 "T")。
+     * @param team   玩家要加入的队伍。
      */
-    public void addPlayer(ServerPlayer player, String team) { 
+    public void addPlayer(ServerPlayer player, Team team) { 
         playerStats.put(player.getUUID(), new PlayerStats(team)); 
+        com.qisumei.csgo.service.ServiceFallbacks.indexPlayer(player.getUUID(), this);
+        // 加入比赛的玩家不再是任何比赛的观战者
+        for (Match match : com.qisumei.csgo.service.ServiceFallbacks.getAllMatches()) {
+            match.removeWatcher(player.getUUID());
+        }
+        roster.invalidate();
         scoreboardManager.reapplyToPlayer(player);
         this.bossBar.addPlayer(player);
         setPlayerKnockbackResistance(player, 1000.0);
     }
     
     public void removePlayer(ServerPlayer player) { 
+        boolean wasAlive = markNotAlive(player.getUUID(), playerStats.get(player.getUUID()));
         playerStats.remove(player.getUUID()); 
+        scoreboardManager.onPlayerStatsChanged(player.getUUID());
+        com.qisumei.csgo.service.ServiceFallbacks.unindexPlayer(player.getUUID(), this);
+        roster.invalidate();
         this.bossBar.removePlayer(player);
         setPlayerKnockbackResistance(player, 0.0);
+        if (wasAlive) checkRoundEndCondition();
     }
     
-    public void addCtSpawn(BlockPos pos) { 
-        this.ctSpawns.add(pos); 
-    }
-    
-    public void addTSpawn(BlockPos pos) { 
-        this.tSpawns.add(pos); 
+    public void addSpawn(Team team, BlockPos pos) { 
+        getSpawns(team).add(pos); 
     }
     
     public void setTotalRounds(int rounds) { 
@@ -1148,12 +1339,8 @@ public class Match implements MatchContext {
         this.roundTimeSeconds = seconds; 
     }
     
-    public void setCtShopPos(BlockPos pos) { 
-        this.ctShopPos = pos; 
-    }
-    
-    public void setTShopPos(BlockPos pos) { 
-        this.tShopPos = pos; 
+    public void setShopPos(Team team, BlockPos pos) { 
+        this.shopPositions[team.ordinal()] = pos; 
     }
     
     /**
@@ -1169,7 +1356,7 @@ public class Match implements MatchContext {
      * @return ServerBossEvent 实例
      */
     public ServerBossEvent getBossBar() {
-        return this.bossBar;
+        return this.bossBar.getEvent();
     }
     
     /**
@@ -1179,17 +1366,16 @@ public class Match implements MatchContext {
      */
     private void setPlayerKnockbackResistance(ServerPlayer player, double amount) {
         if (player != null) {
-            String command = "attribute " + player.getName().getString() + " minecraft:generic.knockback_resistance base set " + amount;
-            commandExecutor.executeGlobal(command);
+            commandExecutor.setKnockbackResistance(player, amount);
         }
     }
     
     /**
      * 获取当前回合所有存活玩家的UUID集合。
-     * @return 一个包含存活玩家UUID的Set。
+     * @return 一个包含存活玩家UUID的只读Set（存活计数依赖它只经由 Match 修改）。
      */
     public Set<UUID> getAlivePlayers() {
-        return this.alivePlayers;
+        return this.alivePlayersView;
     }
 
     /**
@@ -1204,32 +1390,31 @@ public class Match implements MatchContext {
      * 遍历所有已登记并且在线的玩家，将 ServerPlayer 和 对应的 PlayerStats 传给 action。
      */
     private void forEachOnlinePlayer(BiConsumer<ServerPlayer, PlayerStats> action) {
-        for (UUID playerUUID : playerStats.keySet()) {
-            ServerPlayer player = server.getPlayerList().getPlayer(playerUUID);
-            if (player == null) continue;
-            PlayerStats stats = playerStats.get(playerUUID);
-            if (stats == null) continue;
-            action.accept(player, stats);
-        }
+        roster.forEach(action);
+    }
+
+    /**
+     * 获取本场比赛的在线名单缓存。
+     * @return MatchRoster 实例
+     */
+    @Override
+    public MatchRoster getRoster() {
+        return this.roster;
     }
 
     /**
      * 结束当前回合的逻辑。
-     * @param winningTeam 获胜的队伍 ("CT" 或 "T")。
+     * @param winningTeam 获胜的队伍。
      * @param reason 获胜的原因。
      */
     @Override
-    public void endRound(String winningTeam, String reason) {
+    public void endRound(Team winningTeam, String reason) {
          if (this.roundState == RoundState.ROUND_END) return;
          this.roundState = RoundState.ROUND_END;
          this.lastRoundWinner = winningTeam;
 
          // 结算比分
-         if ("CT".equals(winningTeam)) {
-             this.ctScore++;
-         } else {
-             this.tScore++;
-         }
+         this.scores[winningTeam.ordinal()]++;
 
          // 记录本回合幸存者，供下回合发放装备时使用
          this.roundSurvivors.clear();
@@ -1239,7 +1424,7 @@ public class Match implements MatchContext {
          for (UUID playerUUID : playerStats.keySet()) {
              PlayerStats stats = playerStats.get(playerUUID);
              if (stats != null) {
-                 if (stats.getTeam().equals(winningTeam)) {
+                 if (stats.getTeam() == winningTeam) {
                      stats.resetConsecutiveLosses();
                  } else {
                      stats.incrementConsecutiveLosses();
@@ -1247,12 +1432,8 @@ public class Match implements MatchContext {
              }
          }
          
-         // 给获胜方玩家奖励（使用 RoundEconomyService）
-         forEachOnlinePlayer((player, stats) -> {
-             if (stats.getTeam().equals(winningTeam)) {
-                 roundEconomyService.distributeWinReward(player);
-             }
-         });
+         // 给获胜方玩家奖励（使用 RoundEconomyService 批量发放）
+         roundEconomyService.distributeWinReward(roster.getTeamPlayers(winningTeam));
 
          // 更新统计信息面板
          scoreboardManager.updateScoreboard();
@@ -1260,23 +1441,25 @@ public class Match implements MatchContext {
          // 广播回合结束信息（包含原因）
          String message = String.format("第 %d 回合结束！%s 获胜！原因：%s",
              currentRound,
-             winningTeam.equals("CT") ? "反恐精英 (CT)" : "恐怖分子 (T)",
+             winningTeam.getFullName(),
              reason);
          broadcastToAllPlayersInMatch(Component.literal(message).withStyle(ChatFormatting.YELLOW));
 
          // 检查是否打满回合，决定结束比赛还是进入下一回合
          if (currentRound >= totalRounds) {
              // 比赛打满了，根据比分决定胜负或平局
+             int ctScore = getScore(Team.CT);
+             int tScore = getScore(Team.T);
              if (ctScore == tScore) {
                  handleTie();
              } else {
-                 String overallWinner = (ctScore > tScore) ? "CT" : "T";
+                 Team overallWinner = (ctScore > tScore) ? Team.CT : Team.T;
                  finishMatch(overallWinner);
              }
              return; // 比赛已结束，不设置下一回合倒计时
          }
 
          // 设置回合结束展示时间，随后自动开始下一回合
-         this.tickCounter = ServerConfig.roundEndSeconds * 20;
+         schedulePhaseTimer(ServerConfig.roundEndSeconds * 20, this::onRoundEndDelayExpired);
      }
 }
\ No newline at end of file
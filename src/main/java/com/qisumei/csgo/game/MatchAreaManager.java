@@ -1,7 +1,15 @@
 package com.qisumei.csgo.game;
 
+import com.qisumei.csgo.QisCSGO;
+import it.unimi.dsi.fastutil.objects.Reference2BooleanOpenHashMap;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.util.Mth;
 import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
 import net.minecraft.world.phys.AABB;
 
 import java.util.ArrayList;
@@ -63,5 +71,86 @@ public class MatchAreaManager {
 
         // 若需要，可在日志中记录数量（Match 会根据自身需要调用日志）
     }
-}
 
+    /**
+     * 采集比赛区域（向外扩展后）的方块实心度快照，供工作线程做视线与轨迹查询。
+     * <p>
+     * 按区块段扫描：只读取已加载的区块（不会强制加载），跳过全空气的区块段，
+     * 方块状态直接从区块段容器读取；每种方块状态是否有碰撞箱只计算一次。
+     * 未加载区块的区块段记为未知（按实心处理），此时快照的 {@link VoxelSnapshot#isComplete()} 为 false，需要在区块加载后重新采集。
+     * 必须在服务器主线程调用，耗时会记录到日志。
+     * @return 快照；未设置任何关键点或区域过大时返回 null
+     */
+    public VoxelSnapshot captureVoxelSnapshot() {
+        AABB matchArea = getMatchAreaBoundingBox();
+        if (matchArea == null) return null;
+
+        long startNanos = System.nanoTime();
+        ServerLevel level = context.getServer().overworld();
+        AABB area = matchArea.inflate(50.0, 20.0, 50.0);
+        int minX = Mth.floor(area.minX);
+        int minZ = Mth.floor(area.minZ);
+        int maxX = Mth.floor(area.maxX);
+        int maxZ = Mth.floor(area.maxZ);
+        int minY = Math.max(Mth.floor(area.minY), level.getMinBuildHeight());
+        int maxY = Math.min(Mth.floor(area.maxY), level.getMaxBuildHeight() - 1);
+
+        VoxelSnapshot.Builder builder;
+        try {
+            builder = VoxelSnapshot.builder(minX, minY, minZ, maxX, maxY, maxZ);
+        } catch (IllegalArgumentException e) {
+            QisCSGO.LOGGER.warn("无法采集比赛区域的体素快照：{}", e.getMessage());
+            return null;
+        }
+
+        Reference2BooleanOpenHashMap<BlockState> solidByState = new Reference2BooleanOpenHashMap<>();
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        int unloadedChunks = 0;
+        for (int chunkX = SectionPos.blockToSectionCoord(minX); chunkX <= SectionPos.blockToSectionCoord(maxX); chunkX++) {
+            for (int chunkZ = SectionPos.blockToSectionCoord(minZ); chunkZ <= SectionPos.blockToSectionCoord(maxZ); chunkZ++) {
+                LevelChunk chunk = level.getChunkSource().getChunkNow(chunkX, chunkZ);
+                if (chunk == null) {
+                    unloadedChunks++;
+                    for (int sectionY = SectionPos.blockToSectionCoord(minY); sectionY <= SectionPos.blockToSectionCoord(maxY); sectionY++) {
+                        builder.markUnknownSection(chunkX, sectionY, chunkZ);
+                    }
+                    continue;
+                }
+                int x0 = Math.max(minX, SectionPos.sectionToBlockCoord(chunkX));
+                int x1 = Math.min(maxX, SectionPos.sectionToBlockCoord(chunkX) + 15);
+                int z0 = Math.max(minZ, SectionPos.sectionToBlockCoord(chunkZ));
+                int z1 = Math.min(maxZ, SectionPos.sectionToBlockCoord(chunkZ) + 15);
+
+                for (int sectionY = SectionPos.blockToSectionCoord(minY); sectionY <= SectionPos.blockToSectionCoord(maxY); sectionY++) {
+                    LevelChunkSection section = chunk.getSection(chunk.getSectionIndexFromSectionY(sectionY));
+                    if (section.hasOnlyAir()) continue;
+                    int y0 = Math.max(minY, SectionPos.sectionToBlockCoord(sectionY));
+                    int y1 = Math.min(maxY, SectionPos.sectionToBlockCoord(sectionY) + 15);
+
+                    for (int y = y0; y <= y1; y++) {
+                        for (int z = z0; z <= z1; z++) {
+                            for (int x = x0; x <= x1; x++) {
+                                BlockState state = section.getBlockState(x & 15, y & 15, z & 15);
+                                if (state.isAir()) continue;
+                                boolean solid;
+                                if (solidByState.containsKey(state)) {
+                                    solid = solidByState.getBoolean(state);
+                                } else {
+                                    solid = !state.getCollisionShape(level, pos.set(x, y, z)).isEmpty();
+                                    solidByState.put(state, solid);
+                                }
+                                if (solid) builder.setSolid(x, y, z);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        VoxelSnapshot snapshot = builder.build();
+        QisCSGO.LOGGER.info("比赛区域体素快照采集完成：{}x{}x{}，实心方块 {}，未加载区块 {}，耗时 {} ms",
+            snapshot.getSizeX(), snapshot.getSizeY(), snapshot.getSizeZ(), snapshot.countSolid(), unloadedChunks,
+            (System.nanoTime() - startNanos) / 1_000_000);
+        return snapshot;
+    }
+}
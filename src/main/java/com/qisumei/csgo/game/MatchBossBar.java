@@ -0,0 +1,136 @@
+package com.qisumei.csgo.game;
+
+import com.qisumei.csgo.config.ServerConfig;
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerBossEvent;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.BossEvent;
+
+/**
+ * 比赛 Boss栏的变化驱动包装。
+ * <p>
+ * {@link Match#tick()} 每 tick 都会调用 {@link #showCountdown}，但这里只在显示内容真正改变时才触碰
+ * {@link ServerBossEvent}：标题只在显示模式或显示的秒数变化时重建，进度按
+ * {@link ServerConfig#bossBarProgressSteps} 量化，只有跨过一个刻度时才推送。
+ * 因此一个 120 秒的回合只产生约 120 次标题更新和至多 N 次进度更新，
+ * 而不是每 tick 分配一个新的 Component 并向所有观众发送进度包。
+ */
+public final class MatchBossBar {
+
+    /**
+     * Boss栏的显示模式，每种模式对应固定的标题模板与颜色。
+     */
+    public enum Mode {
+        /** 购买阶段倒计时 */
+        BUY_PHASE(BossEvent.BossBarColor.GREEN),
+        /** 回合倒计时 */
+        ROUND(BossEvent.BossBarColor.WHITE),
+        /** C4 爆炸倒计时 */
+        C4(BossEvent.BossBarColor.RED),
+        /** 回合结束 */
+        ROUND_END(BossEvent.BossBarColor.YELLOW),
+        /** 比赛暂停 */
+        PAUSED(BossEvent.BossBarColor.PURPLE),
+        /** 外部设置的一次性提示文本 */
+        MESSAGE(BossEvent.BossBarColor.WHITE);
+
+        private final BossEvent.BossBarColor color;
+
+        Mode(BossEvent.BossBarColor color) {
+            this.color = color;
+        }
+    }
+
+    private final ServerBossEvent event;
+    private Mode mode;
+    // 当前显示的秒数与进度刻度，-1 表示尚未显示过
+    private int shownSeconds = -1;
+    private int shownStep = -1;
+
+    public MatchBossBar() {
+        this.event = new ServerBossEvent(
+            Component.literal("等待比赛开始..."),
+            BossEvent.BossBarColor.WHITE,
+            BossEvent.BossBarOverlay.PROGRESS
+        );
+    }
+
+    /**
+     * 显示倒计时。只有秒数或模式变化时才重建标题，只有跨过进度刻度时才推送进度。
+     * @param mode 倒计时模式（{@link Mode#BUY_PHASE}、{@link Mode#ROUND} 或 {@link Mode#C4}）
+     * @param ticksLeft 剩余 tick 数
+     * @param totalTicks 阶段总 tick 数
+     */
+    public void showCountdown(Mode mode, int ticksLeft, int totalTicks) {
+        int seconds = ticksLeft / 20 + 1;
+        if (mode != this.mode) {
+            switchMode(mode);
+        }
+        if (seconds != this.shownSeconds) {
+            this.shownSeconds = seconds;
+            event.setName(countdownTitle(mode, seconds));
+        }
+
+        int steps = Math.max(1, ServerConfig.bossBarProgressSteps);
+        int step = totalTicks <= 0 ? steps : (int) Math.min(steps, ((long) Math.max(0, ticksLeft) * steps + totalTicks - 1) / totalTicks);
+        if (step != this.shownStep) {
+            this.shownStep = step;
+            event.setProgress((float) step / steps);
+        }
+    }
+
+    /**
+     * 显示静态状态（回合结束、暂停），重复调用不会产生任何更新。
+     * @param mode {@link Mode#ROUND_END} 或 {@link Mode#PAUSED}
+     */
+    public void showStatic(Mode mode) {
+        if (mode == this.mode) return;
+        switchMode(mode);
+        event.setName(Component.literal(mode == Mode.PAUSED ? "比赛暂停" : "回合结束"));
+        event.setProgress(1.0f);
+    }
+
+    /**
+     * 显示一条提示文本，直到下一次状态切换。
+     * @param message 提示文本
+     */
+    public void showMessage(Component message) {
+        switchMode(Mode.MESSAGE);
+        event.setName(message);
+    }
+
+    public void addPlayer(ServerPlayer player) {
+        event.addPlayer(player);
+    }
+
+    public void removePlayer(ServerPlayer player) {
+        event.removePlayer(player);
+    }
+
+    public void removeAllPlayers() {
+        event.removeAllPlayers();
+    }
+
+    /**
+     * @return 底层的 ServerBossEvent
+     */
+    public ServerBossEvent getEvent() {
+        return event;
+    }
+
+    private void switchMode(Mode mode) {
+        this.mode = mode;
+        this.shownSeconds = -1;
+        this.shownStep = -1;
+        event.setColor(mode.color);
+    }
+
+    private static Component countdownTitle(Mode mode, int seconds) {
+        return switch (mode) {
+            case BUY_PHASE -> Component.literal("购买阶段剩余: " + seconds + "s");
+            case C4 -> Component.literal("C4即将爆炸: " + seconds + "s").withStyle(ChatFormatting.RED, ChatFormatting.BOLD);
+            default -> Component.literal("回合剩余时间: " + seconds + "s");
+        };
+    }
+}
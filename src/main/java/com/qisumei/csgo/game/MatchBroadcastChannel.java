@@ -0,0 +1,45 @@
+package com.qisumei.csgo.game;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.game.ClientboundSystemChatPacket;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.ChatVisiblity;
+
+/**
+ * 比赛消息广播通道。
+ * <p>
+ * 每条消息只构造一个 {@link ClientboundSystemChatPacket}，然后把同一个包实例写给
+ * {@link MatchRoster} 快照中的每个接收者连接，而不是对每个玩家调用一次
+ * {@link ServerPlayer#sendSystemMessage(Component, boolean)} 各自构造一个包。
+ * 与 sendSystemMessage 一致，聊天可见性为 HIDDEN 的玩家不会收到消息。
+ */
+public final class MatchBroadcastChannel {
+    private final MatchRoster roster;
+
+    public MatchBroadcastChannel(MatchRoster roster) {
+        this.roster = roster;
+    }
+
+    /**
+     * 向比赛中所有在线玩家发送聊天消息。
+     */
+    public void toAll(Component message) {
+        send(roster.getOnlinePlayers(), message);
+    }
+
+    /**
+     * 向指定队伍的在线玩家发送聊天消息。
+     */
+    public void toTeam(Component message, Team team) {
+        send(roster.getTeamPlayers(team), message);
+    }
+
+    private static void send(ServerPlayer[] recipients, Component message) {
+        if (recipients.length == 0) return;
+        ClientboundSystemChatPacket packet = new ClientboundSystemChatPacket(message, false);
+        for (ServerPlayer player : recipients) {
+            if (player.getChatVisibility() == ChatVisiblity.HIDDEN) continue;
+            player.connection.send(packet);
+        }
+    }
+}
@@ -43,9 +43,9 @@ public interface MatchContext {
      * 向指定队伍的所有玩家广播消息。
      * 
      * @param message 要广播的消息组件（不能为 null）
-     * @param team 目标队伍（"CT" 或 "T"）
+     * @param team 目标队伍
      */
-    void broadcastToTeam(Component message, String team);
+    void broadcastToTeam(Component message, Team team);
     
     /**
      * 获取所有玩家的统计数据映射。
@@ -60,14 +60,22 @@ public interface MatchContext {
      * @return 存活玩家的 UUID 集合（不为 null）
      */
     Set<UUID> getAlivePlayers();
+
+    /**
+     * 获取指定队伍当前回合的存活人数（增量维护，O(1)）。
+     * 
+     * @param team 队伍
+     * @return 存活人数
+     */
+    int getAliveCount(Team team);
     
     /**
      * 结束当前回合。
      * 
-     * @param winningTeam 获胜队伍（"CT" 或 "T"）
+     * @param winningTeam 获胜队伍
      * @param reason 获胜原因描述
      */
-    void endRound(String winningTeam, String reason);
+    void endRound(Team winningTeam, String reason);
     
     /**
      * 获取当前回合状态。
@@ -105,4 +113,19 @@ public interface MatchContext {
      * @return 比赛区域边界框，如果无法计算则为 null
      */
     AABB getMatchAreaBoundingBox();
+
+    /**
+     * 获取比赛的在线名单缓存（按队伍拆分的已解析 ServerPlayer 句柄）。
+     * 热点循环应优先使用它，而不是逐个 UUID 查询 PlayerList。
+     *
+     * @return 在线名单缓存（不为 null）
+     */
+    MatchRoster getRoster();
+
+    /**
+     * 获取比赛的时间轮调度器，用于注册回合内的定时任务（例如 C4 倒计时与提示音）。
+     *
+     * @return 比赛调度器（不为 null）
+     */
+    MatchScheduler getScheduler();
 }
@@ -1,5 +1,8 @@
 package com.qisumei.csgo.game;
 
+import com.qisumei.csgo.util.TickHistogram;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.entity.player.Player;
@@ -8,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * MatchManager 类用于管理所有正在进行的比赛。
@@ -17,10 +21,20 @@ public class MatchManager {
 
     private static final Map<String, Match> ACTIVE_MATCHES = new HashMap<>();
 
+    // 玩家 -> 所在比赛的反向索引，由 Match.addPlayer/removePlayer 和 removeMatch 维护
+    private static final Map<UUID, Match> PLAYER_INDEX = new HashMap<>();
+
+    // 已安放C4的方块坐标（BlockPos.asLong）-> 比赛，由 C4Manager.onC4Planted/reset 和 removeMatch 维护
+    private static final Long2ObjectMap<Match> C4_INDEX = new Long2ObjectOpenHashMap<>();
+
+    // 整个 MatchManager.tick() 的耗时统计（覆盖所有比赛）
+    private static final TickHistogram MANAGER_TICK_HISTOGRAM = new TickHistogram();
+
     /**
      * 每个游戏刻调用一次，用于更新所有正在进行中的比赛状态。
      */
     public static void tick() {
+        long start = System.nanoTime();
         // 创建一个副本以避免在迭代过程中修改集合
         for (Match match : new ArrayList<>(ACTIVE_MATCHES.values())) {
             if (match.getState() == Match.MatchState.IN_PROGRESS) {
@@ -28,6 +42,15 @@ public class MatchManager {
                 match.tick();
             }
         }
+        MANAGER_TICK_HISTOGRAM.record(System.nanoTime() - start);
+    }
+
+    /**
+     * 获取 MatchManager.tick() 整体耗时的直方图。
+     * @return 覆盖所有比赛的 tick 耗时统计
+     */
+    public static TickHistogram getManagerTickHistogram() {
+        return MANAGER_TICK_HISTOGRAM;
     }
 
     /**
@@ -73,12 +96,38 @@ public class MatchManager {
      * @return 玩家所在比赛的对象，若未参与任何比赛则返回null
      */
     public static Match getPlayerMatch(Player player) {
-        for (Match match : ACTIVE_MATCHES.values()) {
-            if (match.getPlayerStats().containsKey(player.getUUID())) {
-                return match;
-            }
-        }
-        return null;
+        return getPlayerMatch(player.getUUID());
+    }
+
+    /**
+     * 根据玩家UUID查找其所在的比赛（O(1) 反向索引查询）。
+     *
+     * @param playerId 玩家UUID
+     * @return 玩家所在比赛的对象，若未参与任何比赛则返回null
+     */
+    public static Match getPlayerMatch(UUID playerId) {
+        return PLAYER_INDEX.get(playerId);
+    }
+
+    /**
+     * 将玩家登记到指定比赛的反向索引中。由 {@link Match#addPlayer} 调用。
+     *
+     * @param playerId 玩家UUID
+     * @param match 玩家加入的比赛
+     */
+    public static void indexPlayer(UUID playerId, Match match) {
+        PLAYER_INDEX.put(playerId, match);
+    }
+
+    /**
+     * 从反向索引中移除玩家，仅当其当前登记的比赛就是 {@code match} 时才移除。
+     * 由 {@link Match#removePlayer} 调用。
+     *
+     * @param playerId 玩家UUID
+     * @param match 玩家离开的比赛
+     */
+    public static void unindexPlayer(UUID playerId, Match match) {
+        PLAYER_INDEX.remove(playerId, match);
     }
 
     /**
@@ -88,12 +137,28 @@ public class MatchManager {
      * @return 在该位置种植了C4的比赛对象，如果没有则返回null
      */
     public static Match getMatchFromC4Pos(BlockPos pos) {
-        for (Match match : ACTIVE_MATCHES.values()) {
-            if (match.isC4Planted() && pos.equals(match.getC4Pos())) {
-                return match;
-            }
-        }
-        return null;
+        return C4_INDEX.get(pos.asLong());
+    }
+
+    /**
+     * 登记一个已安放的C4位置。由 C4Manager.onC4Planted 调用。
+     *
+     * @param pos C4方块位置
+     * @param match 安放C4的比赛
+     */
+    public static void indexC4(BlockPos pos, Match match) {
+        C4_INDEX.put(pos.asLong(), match);
+    }
+
+    /**
+     * 移除一个C4位置的登记，仅当该位置登记的比赛就是 {@code match} 时才移除。
+     * 由 C4Manager.reset 调用。
+     *
+     * @param pos C4方块位置
+     * @param match 安放C4的比赛
+     */
+    public static void unindexC4(BlockPos pos, Match match) {
+        C4_INDEX.remove(pos.asLong(), match);
     }
 
     /**
@@ -105,6 +170,11 @@ public class MatchManager {
      */
     public static void removeMatch(String name) {
         // 直接移除，避免与 ServiceFallbacks/MatchServiceImpl 形成递归调用环
-        ACTIVE_MATCHES.remove(name);
+        Match removed = ACTIVE_MATCHES.remove(name);
+        if (removed != null) {
+            // 同步清理该比赛在反向索引中的所有玩家
+            PLAYER_INDEX.values().removeIf(match -> match == removed);
+            C4_INDEX.values().removeIf(match -> match == removed);
+        }
     }
 }
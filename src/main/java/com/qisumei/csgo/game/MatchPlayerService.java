@@ -3,7 +3,6 @@ package com.qisumei.csgo.game;
 import com.qisumei.csgo.QisCSGO;
 import com.qisumei.csgo.config.ServerConfig;
 import com.qisumei.csgo.server.ServerCommandExecutor;
-import com.qisumei.csgo.util.ItemNBTHelper;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.item.ItemStack;
 
@@ -36,29 +35,20 @@ public final class MatchPlayerService implements PlayerService {
             ItemStack stack = player.getInventory().getItem(i);
             if (stack.isEmpty()) continue;
 
-            boolean isProtected = false;
-            for (String protectedItemString : ServerConfig.inventoryProtectedItems) {
-                if (ItemNBTHelper.idMatches(stack, protectedItemString)) {
-                    isProtected = true;
-                    break;
-                }
-            }
-
-            if (!isProtected) {
+            if (!ServerConfig.inventoryProtectedMatcher.matches(stack)) {
                 player.getInventory().setItem(i, ItemStack.EMPTY);
             }
         }
     }
 
     @Override
-    public void giveInitialGear(ServerPlayer player, String team) {
+    public void giveInitialGear(ServerPlayer player, Team team) {
         Objects.requireNonNull(player, "Player cannot be null");
         Objects.requireNonNull(team, "Team cannot be null");
         
-        List<String> gearList = "CT".equals(team) ? ServerConfig.ctPistolRoundGear : ServerConfig.tPistolRoundGear;
+        List<String> gearList = team == Team.CT ? ServerConfig.ctPistolRoundGear : ServerConfig.tPistolRoundGear;
         for (String itemId : gearList) {
-            String command = "give " + player.getName().getString() + " " + itemId;
-            commandExecutor.executeForPlayer(player, command);
+            commandExecutor.giveItem(player, itemId);
         }
     }
 
@@ -80,8 +70,7 @@ public final class MatchPlayerService implements PlayerService {
             ItemStack stack = player.getInventory().getItem(i);
             if (stack.isEmpty()) continue;
 
-            boolean isProtected = ServerConfig.inventoryProtectedItems.stream()
-                    .anyMatch(id -> ItemNBTHelper.idMatches(stack, id));
+            boolean isProtected = ServerConfig.inventoryProtectedMatcher.matches(stack);
             boolean isC4 = (c4Item != null) && stack.is(c4Item);
 
             if (!isProtected && !isC4) {
@@ -0,0 +1,116 @@
+package com.qisumei.csgo.game;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * 比赛在线名单缓存。
+ * <p>
+ * 缓存已解析的 {@link ServerPlayer} 句柄（按队伍拆分），使每 tick 的热点循环直接遍历数组，
+ * 而不必对每个玩家调用一次 {@code PlayerList.getPlayer(uuid)}。
+ * <p>
+ * 名单采用惰性重建：成员变动（加入/移除/换边）以及登录、登出、重生事件只调用
+ * {@link #invalidate()} 标记失效，下一次访问时统一重建一次。
+ * 返回的数组是内部快照，调用方只读，不要修改；遍历期间名单失效也不影响当前快照。
+ */
+public final class MatchRoster {
+    private static final ServerPlayer[] NO_PLAYERS = new ServerPlayer[0];
+    private static final PlayerStats[] NO_STATS = new PlayerStats[0];
+
+    private final MinecraftServer server;
+    private final Map<UUID, PlayerStats> playerStats;
+
+    private ServerPlayer[] onlinePlayers = NO_PLAYERS;
+    private PlayerStats[] onlineStats = NO_STATS;
+    // 按 Team.ordinal() 下标存放各队在线玩家
+    private final ServerPlayer[][] teamPlayers = new ServerPlayer[Team.COUNT][];
+    private boolean dirty = true;
+
+    public MatchRoster(MinecraftServer server, Map<UUID, PlayerStats> playerStats) {
+        this.server = server;
+        this.playerStats = playerStats;
+        Arrays.fill(teamPlayers, NO_PLAYERS);
+    }
+
+    /**
+     * 标记名单失效，下一次访问时重新解析在线玩家。
+     */
+    public void invalidate() {
+        this.dirty = true;
+    }
+
+    /**
+     * @return 所有在线的比赛玩家（只读快照）
+     */
+    public ServerPlayer[] getOnlinePlayers() {
+        refreshIfDirty();
+        return onlinePlayers;
+    }
+
+    /**
+     * @return 与 {@link #getOnlinePlayers()} 下标一一对应的玩家统计数据（只读快照）
+     */
+    public PlayerStats[] getOnlineStats() {
+        refreshIfDirty();
+        return onlineStats;
+    }
+
+    /**
+     * 获取指定队伍的在线玩家。
+     * @param team 队伍
+     * @return 该队伍在线玩家的只读快照
+     */
+    public ServerPlayer[] getTeamPlayers(Team team) {
+        refreshIfDirty();
+        return teamPlayers[team.ordinal()];
+    }
+
+    /**
+     * 遍历所有在线的比赛玩家。
+     */
+    public void forEach(BiConsumer<ServerPlayer, PlayerStats> action) {
+        refreshIfDirty();
+        ServerPlayer[] players = this.onlinePlayers;
+        PlayerStats[] stats = this.onlineStats;
+        for (int i = 0; i < players.length; i++) {
+            action.accept(players[i], stats[i]);
+        }
+    }
+
+    private void refreshIfDirty() {
+        if (!dirty) return;
+        dirty = false;
+
+        List<ServerPlayer> all = new ArrayList<>(playerStats.size());
+        List<PlayerStats> allStats = new ArrayList<>(playerStats.size());
+        List<List<ServerPlayer>> byTeam = new ArrayList<>(Team.COUNT);
+        for (int i = 0; i < Team.COUNT; i++) {
+            byTeam.add(new ArrayList<>());
+        }
+
+        for (Map.Entry<UUID, PlayerStats> entry : playerStats.entrySet()) {
+            ServerPlayer player = server.getPlayerList().getPlayer(entry.getKey());
+            // 登出事件触发时玩家仍在 PlayerList 中，用 hasDisconnected 排除即将离线的句柄
+            if (player == null || player.hasDisconnected()) continue;
+            PlayerStats stats = entry.getValue();
+            all.add(player);
+            allStats.add(stats);
+            if (stats.getTeam() != null) {
+                byTeam.get(stats.getTeam().ordinal()).add(player);
+            }
+        }
+
+        this.onlinePlayers = all.toArray(NO_PLAYERS);
+        this.onlineStats = allStats.toArray(NO_STATS);
+        for (int i = 0; i < Team.COUNT; i++) {
+            this.teamPlayers[i] = byTeam.get(i).toArray(NO_PLAYERS);
+        }
+    }
+}
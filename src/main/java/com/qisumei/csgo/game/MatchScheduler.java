@@ -0,0 +1,182 @@
+package com.qisumei.csgo.game;
+
+/**
+ * 比赛专用的哈希时间轮调度器。
+ * <p>
+ * 回合阶段切换、C4 提示音、10 秒警告、计分板/观战视角等周期刷新都注册为定时任务，
+ * 而不是在 {@link Match#tick()} 中维护一堆递减计数器。时间轮共 {@value #WHEEL_SIZE} 个槽，
+ * 任务按到期 tick 散列到槽中；每 tick 只访问一个槽，空槽时 {@link #tick()} 只有一次数组读取，
+ * 因此空闲比赛几乎没有开销，新增定时机制也不会增加每 tick 的分支。
+ * <p>
+ * 取消是惰性的：{@link Task#cancel()} 只打标记，任务在其所在槽下一次被访问时丢弃。
+ * 非线程安全：只能在服务器主线程使用。
+ */
+public final class MatchScheduler {
+    private static final int WHEEL_SIZE = 64;
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    private final Task[] heads = new Task[WHEEL_SIZE];
+    private final Task[] tails = new Task[WHEEL_SIZE];
+    private long currentTick;
+    private int epoch;
+    private int pendingCount;
+
+    /**
+     * 安排一个一次性任务。
+     * @param delayTicks 延迟的 tick 数，小于 1 时按 1 处理（即下一次 {@link #tick()}）
+     * @param action 到期时执行的动作
+     * @return 可用于取消或查询剩余时间的任务句柄
+     */
+    public Task schedule(int delayTicks, Runnable action) {
+        return insert(delayTicks, 0, action);
+    }
+
+    /**
+     * 安排一个周期任务。
+     * @param initialDelayTicks 首次执行前的延迟 tick 数
+     * @param periodTicks 执行周期（tick），必须大于 0
+     * @param action 每次到期时执行的动作
+     * @return 可用于取消的任务句柄
+     */
+    public Task scheduleRepeating(int initialDelayTicks, int periodTicks, Runnable action) {
+        if (periodTicks <= 0) {
+            throw new IllegalArgumentException("periodTicks must be positive: " + periodTicks);
+        }
+        return insert(initialDelayTicks, periodTicks, action);
+    }
+
+    /**
+     * 推进一个 tick 并执行所有到期任务。
+     * <p>
+     * 单个任务抛出的异常不会影响同槽其他任务的执行，所有任务处理完后再抛出第一个异常。
+     */
+    public void tick() {
+        currentTick++;
+        int slot = (int) (currentTick & MASK);
+        Task task = heads[slot];
+        if (task == null) return;
+
+        // 先摘下整条链：执行期间新安排到本槽的任务不会在本 tick 被处理
+        heads[slot] = null;
+        tails[slot] = null;
+
+        RuntimeException failure = null;
+        while (task != null) {
+            Task next = task.next;
+            task.next = null;
+
+            if (!task.isActive()) {
+                task = next;
+                continue;
+            }
+            if (task.deadline > currentTick) {
+                // 还没到期（需要再转若干圈），放回本槽
+                link(task);
+                task = next;
+                continue;
+            }
+
+            if (task.period > 0) {
+                task.deadline += task.period;
+                link(task);
+            } else {
+                task.done = true;
+                pendingCount--;
+            }
+
+            try {
+                task.action.run();
+            } catch (RuntimeException e) {
+                if (failure == null) failure = e; else failure.addSuppressed(e);
+            }
+            task = next;
+        }
+        if (failure != null) throw failure;
+    }
+
+    /**
+     * 取消所有已安排的任务（包括正在执行的本 tick 中尚未运行的任务）。
+     */
+    public void cancelAll() {
+        epoch++;
+        java.util.Arrays.fill(heads, null);
+        java.util.Arrays.fill(tails, null);
+        pendingCount = 0;
+    }
+
+    /**
+     * @return 已推进的 tick 数
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * @return 尚未完成且未取消的任务数量
+     */
+    public int getPendingCount() {
+        return pendingCount;
+    }
+
+    private Task insert(int delayTicks, int periodTicks, Runnable action) {
+        java.util.Objects.requireNonNull(action, "action must not be null");
+        Task task = new Task(action, periodTicks, currentTick + Math.max(1, delayTicks), epoch);
+        link(task);
+        pendingCount++;
+        return task;
+    }
+
+    private void link(Task task) {
+        int slot = (int) (task.deadline & MASK);
+        if (tails[slot] == null) {
+            heads[slot] = task;
+        } else {
+            tails[slot].next = task;
+        }
+        tails[slot] = task;
+    }
+
+    /**
+     * 已安排任务的句柄。
+     */
+    public final class Task {
+        private final Runnable action;
+        private final int period;
+        private final int taskEpoch;
+        private long deadline;
+        private boolean cancelled;
+        private boolean done;
+        private Task next;
+
+        private Task(Runnable action, int period, long deadline, int taskEpoch) {
+            this.action = action;
+            this.period = period;
+            this.deadline = deadline;
+            this.taskEpoch = taskEpoch;
+        }
+
+        /**
+         * 取消任务。对已完成或已取消的任务调用无副作用。
+         */
+        public void cancel() {
+            if (isActive()) {
+                cancelled = true;
+                pendingCount--;
+            }
+        }
+
+        /**
+         * @return 任务是否仍在等待执行（周期任务在取消前始终为 true）
+         */
+        public boolean isActive() {
+            return !cancelled && !done && taskEpoch == epoch;
+        }
+
+        /**
+         * @return 距离下一次执行还剩的 tick 数；任务已完成或已取消时返回 0
+         */
+        public int getTicksRemaining() {
+            return isActive() ? (int) Math.max(0L, deadline - currentTick) : 0;
+        }
+    }
+}
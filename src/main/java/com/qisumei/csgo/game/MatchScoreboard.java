@@ -2,6 +2,8 @@ package com.qisumei.csgo.game;
 
 import net.minecraft.server.level.ServerPlayer;
 
+import java.util.UUID;
+
 /**
  * Match 的计分板抽象接口，定义 Match 与计分板管理器之间的交互契约，便于替换实现以降低耦合。
  */
@@ -10,5 +12,11 @@ public interface MatchScoreboard {
     void updateScoreboard();
     void reapplyToPlayer(ServerPlayer player);
     void removeScoreboard();
+
+    /**
+     * 玩家的击杀/死亡数发生变化，或玩家离开比赛后调用；实现应据此更新排名，并在下次
+     * {@link #updateScoreboard()} 时只同步变化的条目。
+     */
+    void onPlayerStatsChanged(UUID playerId);
 }
 
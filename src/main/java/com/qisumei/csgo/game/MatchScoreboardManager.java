@@ -5,21 +5,37 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.scores.DisplaySlot;
 import net.minecraft.world.scores.Objective;
+import net.minecraft.world.scores.ScoreHolder;
 import net.minecraft.world.scores.Scoreboard;
 import net.minecraft.world.scores.criteria.ObjectiveCriteria;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 /**
  * 提取自 Match 的计分板逻辑，负责创建/更新/移除计分板。
+ * <p>
+ * 排名由 {@link PlayerRanking} 在击杀/死亡事件时增量维护；{@link #updateScoreboard()} 只在排名变化后
+ * 才做一次差量同步：仅对分数变化或新进入前 {@value #SIDEBAR_SIZE} 名的玩家写分，
+ * 对掉出前 {@value #SIDEBAR_SIZE} 名的玩家清除分数，不再周期性地删除并重建整个计分项。
  */
 public class MatchScoreboardManager implements MatchScoreboard {
+    private static final int SIDEBAR_SIZE = 15;
+
     private final Match match;
+    private final PlayerRanking ranking = new PlayerRanking();
+    // 已同步到客户端的侧边栏条目：玩家UUID -> 已发送的分数与计分名
+    private final Map<UUID, Shown> shown = new HashMap<>();
     private Scoreboard scoreboard;
     private Objective objective;
-    private int rebuildCounter = 0;
+    private boolean dirty = true;
+
+    private record Shown(String holderName, int score) { }
 
     public MatchScoreboardManager(Match match) {
         this.match = match;
@@ -44,60 +60,63 @@ public class MatchScoreboardManager implements MatchScoreboard {
             null
         );
         this.scoreboard.setDisplayObjective(DisplaySlot.SIDEBAR, this.objective);
-    }
-
-    public void updateScoreboard() {
-        if (this.objective == null || this.scoreboard == null) return;
 
-        rebuildCounter++;
-        if (rebuildCounter >= 200) {
-            rebuildScoreboard();
-            rebuildCounter = 0;
-            return;
+        // 新计分项上没有任何分数，按当前统计重建排名并全量同步一次
+        this.shown.clear();
+        this.ranking.clear();
+        for (Map.Entry<UUID, PlayerStats> entry : match.getPlayerStats().entrySet()) {
+            this.ranking.update(entry.getKey(), entry.getValue().getKills(), entry.getValue().getDeaths());
         }
+        this.dirty = true;
+    }
 
-        List<Map.Entry<UUID, PlayerStats>> sortedPlayers = match.getPlayerStats().entrySet().stream()
-            .sorted((a, b) -> {
-                int cmp = Integer.compare(b.getValue().getKills(), a.getValue().getKills());
-                if (cmp != 0) return cmp;
-                return Integer.compare(a.getValue().getDeaths(), b.getValue().getDeaths());
-            })
-            .limit(15)
-            .toList();
-
-        for (Map.Entry<UUID, PlayerStats> entry : sortedPlayers) {
-            ServerPlayer player = match.getServer().getPlayerList().getPlayer(entry.getKey());
-            if (player != null) {
-                this.scoreboard.getOrCreatePlayerScore(player, this.objective).set(entry.getValue().getKills());
-            }
-        }
+    @Override
+    public void onPlayerStatsChanged(UUID playerId) {
+        PlayerStats stats = match.getPlayerStats().get(playerId);
+        boolean changed = stats != null
+            ? ranking.update(playerId, stats.getKills(), stats.getDeaths())
+            : ranking.remove(playerId);
+        if (changed) this.dirty = true;
     }
 
-    private void rebuildScoreboard() {
-        if (this.objective == null || this.scoreboard == null) return;
+    public void updateScoreboard() {
+        if (!dirty || this.objective == null || this.scoreboard == null) return;
+        dirty = false;
 
-        String objectiveName = this.objective.getName();
-        Component displayName = this.objective.getDisplayName();
+        List<PlayerRanking.Entry> top = ranking.top(SIDEBAR_SIZE);
+        Set<UUID> inTop = new HashSet<>(top.size() * 2);
 
-        this.scoreboard.removeObjective(this.objective);
+        for (PlayerRanking.Entry entry : top) {
+            inTop.add(entry.playerId());
+            Shown previous = shown.get(entry.playerId());
+            if (previous != null && previous.score() == entry.kills()) continue;
 
-        this.objective = this.scoreboard.addObjective(
-            objectiveName,
-            ObjectiveCriteria.DUMMY,
-            displayName,
-            ObjectiveCriteria.RenderType.INTEGER,
-            true,
-            null
-        );
-        this.scoreboard.setDisplayObjective(DisplaySlot.SIDEBAR, this.objective);
+            ServerPlayer player = match.getServer().getPlayerList().getPlayer(entry.playerId());
+            if (player == null) {
+                // 离线玩家保持原有显示，不重新标记 dirty；其重新上线时 reapplyToPlayer 会触发同步
+                continue;
+            }
+            this.scoreboard.getOrCreatePlayerScore(player, this.objective).set(entry.kills());
+            shown.put(entry.playerId(), new Shown(player.getScoreboardName(), entry.kills()));
+        }
+
+        // 掉出前列（或已离开比赛）的玩家从侧边栏移除
+        Iterator<Map.Entry<UUID, Shown>> it = shown.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<UUID, Shown> entry = it.next();
+            if (inTop.contains(entry.getKey())) continue;
+            this.scoreboard.resetSinglePlayerScore(ScoreHolder.forNameOnly(entry.getValue().holderName()), this.objective);
+            it.remove();
+        }
     }
 
     public void reapplyToPlayer(ServerPlayer player) {
         if (this.objective == null || this.scoreboard == null) return;
         this.scoreboard.setDisplayObjective(DisplaySlot.SIDEBAR, this.objective);
-        PlayerStats stats = match.getPlayerStats().get(player.getUUID());
-        int currentKills = (stats != null) ? stats.getKills() : 0;
-        this.scoreboard.getOrCreatePlayerScore(player, this.objective).set(currentKills);
+        // 玩家重新上线（或新加入）：确保其在排名中，并允许重新写入其分数
+        shown.remove(player.getUUID());
+        onPlayerStatsChanged(player.getUUID());
+        this.dirty = true;
     }
 
     public void removeScoreboard() {
@@ -109,5 +128,7 @@ public class MatchScoreboardManager implements MatchScoreboard {
             }
             this.objective = null;
         }
+        this.shown.clear();
+        this.ranking.clear();
     }
 }
@@ -0,0 +1,89 @@
+package com.qisumei.csgo.game;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * 按击杀数排序的玩家排名索引。
+ * <p>
+ * 排序规则：击杀数降序，死亡数升序，最后按 UUID 保证全序。
+ * 击杀/死亡事件发生时调用 {@link #update(UUID, int, int)}，单次更新为 O(log n)；
+ * 读取前 K 名只需遍历有序集合的头部，不再需要每秒对所有玩家做一次完整排序。
+ * 非线程安全：只能在服务器主线程使用。
+ */
+public final class PlayerRanking {
+
+    /**
+     * 排名条目：某一时刻的击杀/死亡快照（不可变，更新时整体替换）。
+     */
+    public record Entry(UUID playerId, int kills, int deaths) { }
+
+    private static final Comparator<Entry> ORDER = Comparator
+        .comparingInt((Entry e) -> -e.kills())
+        .thenComparingInt(Entry::deaths)
+        .thenComparing(Entry::playerId);
+
+    private final TreeSet<Entry> ordered = new TreeSet<>(ORDER);
+    private final Map<UUID, Entry> byPlayer = new HashMap<>();
+
+    /**
+     * 写入玩家当前的击杀/死亡数。数值未变化时不做任何修改。
+     * @return 排名数据是否发生变化
+     */
+    public boolean update(UUID playerId, int kills, int deaths) {
+        Entry old = byPlayer.get(playerId);
+        if (old != null) {
+            if (old.kills() == kills && old.deaths() == deaths) return false;
+            ordered.remove(old);
+        }
+        Entry entry = new Entry(playerId, kills, deaths);
+        ordered.add(entry);
+        byPlayer.put(playerId, entry);
+        return true;
+    }
+
+    /**
+     * 移除玩家。
+     * @return 玩家此前是否在排名中
+     */
+    public boolean remove(UUID playerId) {
+        Entry old = byPlayer.remove(playerId);
+        if (old == null) return false;
+        ordered.remove(old);
+        return true;
+    }
+
+    /**
+     * 获取前 {@code k} 名（按排名顺序）。
+     */
+    public List<Entry> top(int k) {
+        List<Entry> result = new ArrayList<>(Math.min(k, ordered.size()));
+        Iterator<Entry> it = ordered.iterator();
+        while (it.hasNext() && result.size() < k) {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+    /**
+     * @return 玩家当前的排名条目，不在排名中时返回 null
+     */
+    public Entry get(UUID playerId) {
+        return byPlayer.get(playerId);
+    }
+
+    public int size() {
+        return byPlayer.size();
+    }
+
+    public void clear() {
+        ordered.clear();
+        byPlayer.clear();
+    }
+}
@@ -21,11 +21,10 @@ public interface PlayerService {
      * 在手枪局为玩家发放初始装备。
      * 
      * @param player 要发放装备的玩家（不能为 null）
-     * @param team 玩家所属队伍（"CT" 或 "T"）
-     * @throws NullPointerException 如果 player 为 null
-     * @throws IllegalArgumentException 如果 team 不是有效的队伍名称
+     * @param team 玩家所属队伍（不能为 null）
+     * @throws NullPointerException 如果 player 或 team 为 null
      */
-    void giveInitialGear(ServerPlayer player, String team);
+    void giveInitialGear(ServerPlayer player, Team team);
     
     /**
      * 捕获玩家当前的装备快照，用于在下回合保留装备。
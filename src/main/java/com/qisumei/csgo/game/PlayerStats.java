@@ -1,17 +1,16 @@
 package com.qisumei.csgo.game;
 
+import com.qisumei.csgo.weapon.PurchaseHistory;
 import net.minecraft.world.item.ItemStack;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * 玩家统计数据类
  * 用于跟踪和管理CSGO游戏中玩家的各种统计信息
  */
 public class PlayerStats {
-    private String team;
+    private Team team;
     private int consecutiveLosses = 0;
     private int kills = 0;
     private int deaths = 0;
@@ -19,30 +18,30 @@ public class PlayerStats {
     // --- 新增：用于记录玩家回合内的装备 ---
     private final List<ItemStack> roundGear = new ArrayList<>();
     
-    // --- 新增：记录本场比赛中已购买的投掷物类型 ---
-    private final Set<String> purchasedThrowables = new HashSet<>();
+    // --- 记录本场比赛中的购买次数（按武器序号索引） ---
+    private final PurchaseHistory purchases = new PurchaseHistory();
 
     /**
      * 构造函数，初始化玩家统计数据
      * @param team 玩家所属队伍
      */
-    public PlayerStats(String team) {
+    public PlayerStats(Team team) {
         this.team = team;
     }
 
     /**
      * 获取玩家所属队伍
-     * @return 队伍名称
+     * @return 玩家所属队伍
      */
-    public String getTeam() {
+    public Team getTeam() {
         return team;
     }
 
     /**
      * 设置玩家所属队伍
-     * @param team 队伍名称
+     * @param team 玩家所属队伍
      */
-    public void setTeam(String team) {
+    public void setTeam(Team team) {
         this.team = team;
     }
 
@@ -120,26 +119,10 @@ public class PlayerStats {
     }
     
     /**
-     * 检查是否已购买过某种投掷物
-     * @param throwableId 投掷物ID
-     * @return 是否已购买
-     */
-    public boolean hasPurchasedThrowable(String throwableId) {
-        return purchasedThrowables.contains(throwableId);
-    }
-    
-    /**
-     * 记录购买的投掷物
-     * @param throwableId 投掷物ID
-     */
-    public void addPurchasedThrowable(String throwableId) {
-        purchasedThrowables.add(throwableId);
-    }
-    
-    /**
-     * 清空已购买投掷物记录（用于新比赛）
+     * 获取本场比赛的购买记录（购买上限检查与按武器的购买统计）
+     * @return 购买记录
      */
-    public void clearPurchasedThrowables() {
-        purchasedThrowables.clear();
+    public PurchaseHistory getPurchases() {
+        return purchases;
     }
 }
@@ -6,6 +6,7 @@ import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -25,42 +26,76 @@ public class RoundEconomyService {
      * @param player 玩家
      */
     public void distributePistolRoundMoney(ServerPlayer player) {
-        economyService.setMoney(player, ServerConfig.pistolRoundStartingMoney);
-        player.sendSystemMessage(
-            Component.literal("§6手枪局！起始资金: §e$" + ServerConfig.pistolRoundStartingMoney)
-                .withStyle(ChatFormatting.AQUA)
-        );
+        distributePistolRoundMoney(new ServerPlayer[]{player});
+    }
+
+    /**
+     * 为一批玩家分配手枪局起始资金：一次性写入账本，每人一条提示。
+     * @param players 玩家
+     */
+    public void distributePistolRoundMoney(ServerPlayer[] players) {
+        if (players.length == 0) return;
+        economyService.setMoneyAll(players, ServerConfig.pistolRoundStartingMoney);
+        Component message = Component.literal("§6手枪局！起始资金: §e$" + ServerConfig.pistolRoundStartingMoney)
+            .withStyle(ChatFormatting.AQUA);
+        for (ServerPlayer player : players) {
+            player.sendSystemMessage(message);
+        }
     }
     
     /**
      * 为普通回合分配收入（基于上回合结果）
      * @param player 玩家
      * @param stats 玩家统计数据
-     * @param lastRoundWinner 上回合获胜方
+     * @param lastRoundWinner 上回合获胜方（可为 null）
      */
-    public void distributeRoundIncome(ServerPlayer player, PlayerStats stats, String lastRoundWinner) {
-        boolean wasWinner = stats.getTeam().equals(lastRoundWinner);
-        int income;
-        
-        if (wasWinner) {
-            income = ServerConfig.winReward;
-            player.sendSystemMessage(
-                Component.literal("§a回合胜利！获得 §e$" + income).withStyle(ChatFormatting.GREEN)
-            );
-        } else {
-            // 计算连败奖励
-            int lossBonus = Math.min(
-                stats.getConsecutiveLosses() * ServerConfig.lossStreakBonus,
-                ServerConfig.maxLossStreakBonus
-            );
-            income = ServerConfig.lossReward + lossBonus;
-            player.sendSystemMessage(
-                Component.literal("§c回合失败。获得 §e$" + income + " §7(含连败奖励)")
-                    .withStyle(ChatFormatting.RED)
-            );
+    public void distributeRoundIncome(ServerPlayer player, PlayerStats stats, Team lastRoundWinner) {
+        distributeRoundIncome(new ServerPlayer[]{player}, new PlayerStats[]{stats}, lastRoundWinner);
+    }
+
+    /**
+     * 为一批玩家分配普通回合收入：先一次遍历算出每人的收入（胜利奖励或失败奖励 + 连败奖励），
+     * 再一次性写入账本，最后每人只发送一条包含收入与余额的提示。
+     * @param players 玩家
+     * @param stats 与 players 下标一一对应的玩家统计数据
+     * @param lastRoundWinner 上回合获胜方（可为 null）
+     */
+    public void distributeRoundIncome(ServerPlayer[] players, PlayerStats[] stats, Team lastRoundWinner) {
+        if (players.length == 0) return;
+        int[] incomes = new int[players.length];
+        for (int i = 0; i < players.length; i++) {
+            incomes[i] = computeRoundIncome(stats[i], lastRoundWinner);
+        }
+
+        int[] balances = economyService.creditAll(players, incomes);
+
+        for (int i = 0; i < players.length; i++) {
+            boolean wasWinner = stats[i].getTeam() == lastRoundWinner;
+            Component message = wasWinner
+                ? Component.literal("§a回合胜利！获得 §e$" + incomes[i] + " §7(余额: §e$" + balances[i] + "§7)")
+                    .withStyle(ChatFormatting.GREEN)
+                : Component.literal("§c回合失败。获得 §e$" + incomes[i] + " §7(含连败奖励，余额: §e$" + balances[i] + "§7)")
+                    .withStyle(ChatFormatting.RED);
+            players[i].sendSystemMessage(message);
         }
-        
-        economyService.giveMoney(player, income);
+    }
+
+    /**
+     * 计算玩家的普通回合收入。
+     * @param stats 玩家统计数据
+     * @param lastRoundWinner 上回合获胜方（可为 null）
+     * @return 收入金额
+     */
+    static int computeRoundIncome(PlayerStats stats, Team lastRoundWinner) {
+        if (stats.getTeam() == lastRoundWinner) {
+            return ServerConfig.winReward;
+        }
+        // 计算连败奖励
+        int lossBonus = Math.min(
+            stats.getConsecutiveLosses() * ServerConfig.lossStreakBonus,
+            ServerConfig.maxLossStreakBonus
+        );
+        return ServerConfig.lossReward + lossBonus;
     }
     
     /**
@@ -68,12 +103,27 @@ public class RoundEconomyService {
      * @param player 玩家
      */
     public void distributeWinReward(ServerPlayer player) {
+        distributeWinReward(new ServerPlayer[]{player});
+    }
+
+    /**
+     * 为一批获胜玩家分配回合胜利奖励：一次性写入账本，每人一条包含余额的提示。
+     * @param players 获胜方玩家
+     */
+    public void distributeWinReward(ServerPlayer[] players) {
+        if (players.length == 0) return;
         int reward = ServerConfig.winReward;
-        economyService.giveMoney(player, reward);
-        player.sendSystemMessage(
-            Component.literal("你们赢得了本回合！获得奖励：" + reward + " 货币")
-                .withStyle(ChatFormatting.GREEN)
-        );
+        int[] rewards = new int[players.length];
+        Arrays.fill(rewards, reward);
+
+        int[] balances = economyService.creditAll(players, rewards);
+
+        for (int i = 0; i < players.length; i++) {
+            players[i].sendSystemMessage(
+                Component.literal("你们赢得了本回合！获得奖励：" + reward + " 货币（余额：" + balances[i] + "）")
+                    .withStyle(ChatFormatting.GREEN)
+            );
+        }
     }
     
     /**
@@ -0,0 +1,81 @@
+package com.qisumei.csgo.game;
+
+/**
+ * 比赛队伍。
+ * <p>
+ * 队伍判断是引用比较，按队伍区分的数据（出生点、商店位置、比分、存活计数、名单等）
+ * 用 {@link #ordinal()} 作为下标存放在长度为 {@link #COUNT} 的数组中，而不是用字符串分支挑选并列字段。
+ * 字符串 ID（"CT"/"T"）只在命令参数、配置与存档等边界处使用，通过 {@link #fromId(String)} 转换。
+ */
+public enum Team {
+    /** 反恐精英 */
+    CT("CT", "反恐精英"),
+    /** 恐怖分子 */
+    T("T", "恐怖分子");
+
+    /** 队伍数量，用于分配按队伍下标的数组 */
+    public static final int COUNT = 2;
+
+    private static final Team[] VALUES = values();
+
+    private final String id;
+    private final String displayName;
+
+    Team(String id, String displayName) {
+        this.id = id;
+        this.displayName = displayName;
+    }
+
+    /**
+     * @return 队伍 ID（"CT" 或 "T"）
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return 中文队伍名，例如 "反恐精英"
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * @return 带 ID 的完整名称，例如 "反恐精英 (CT)"
+     */
+    public String getFullName() {
+        return displayName + " (" + id + ")";
+    }
+
+    /**
+     * @return 对方队伍
+     */
+    public Team opposite() {
+        return this == CT ? T : CT;
+    }
+
+    /**
+     * 按下标获取队伍，与 {@link #ordinal()} 互逆。
+     */
+    public static Team byIndex(int index) {
+        return VALUES[index];
+    }
+
+    /**
+     * 解析队伍 ID（忽略大小写）。
+     * @param id 队伍 ID，例如 "CT"、"t"
+     * @return 对应的队伍；为 null 或无法识别时返回 null
+     */
+    public static Team fromId(String id) {
+        if (id == null) return null;
+        for (Team team : VALUES) {
+            if (team.id.equalsIgnoreCase(id)) return team;
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
@@ -26,19 +26,19 @@ public class TeamSwapService {
     /**
      * 更新玩家的队伍归属和游戏内显示
      * @param player 玩家
-     * @param newTeam 新队伍 ("CT" 或 "T")
-     * @param newTeamName 新队伍的完整名称（用于游戏内team命令）
+     * @param newTeam 新队伍
+     * @param newTeamName 新队伍的计分板队伍名
      */
-    public void updatePlayerTeam(ServerPlayer player, String newTeam, String newTeamName) {
+    public void updatePlayerTeam(ServerPlayer player, Team newTeam, String newTeamName) {
         // 更新游戏内队伍
-        commandExecutor.executeGlobal("team leave " + player.getName().getString());
-        commandExecutor.executeGlobal("team join " + newTeamName + " " + player.getName().getString());
+        commandExecutor.leaveTeam(player);
+        commandExecutor.joinTeam(player, newTeamName);
         
         // 清理玩家背包（保留受保护物品）
         playerService.performSelectiveClear(player);
         
         // 通知玩家
-        String teamDisplayName = "CT".equals(newTeam) ? "反恐精英 (CT)" : "恐怖分子 (T)";
+        String teamDisplayName = newTeam.getFullName();
         player.sendSystemMessage(
             Component.literal("你现在是 " + teamDisplayName + " 队的一员！").withStyle(ChatFormatting.AQUA)
         );
@@ -62,8 +62,8 @@ public class TeamSwapService {
             PlayerStats stats = statsMap.get(entry.getKey());
             
             if (player != null && stats != null) {
-                String newTeam = stats.getTeam();
-                String newTeamName = "CT".equals(newTeam) ? ctTeamName : tTeamName;
+                Team newTeam = stats.getTeam();
+                String newTeamName = newTeam == Team.CT ? ctTeamName : tTeamName;
                 updatePlayerTeam(player, newTeam, newTeamName);
             }
         }
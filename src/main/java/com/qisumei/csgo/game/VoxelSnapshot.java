@@ -0,0 +1,307 @@
+package com.qisumei.csgo.game;
+
+/**
+ * 比赛区域的方块实心度快照：按位压缩的体素网格。
+ * <p>
+ * 快照在主线程一次性采集（见 {@link MatchAreaManager#captureVoxelSnapshot}），之后不可变，
+ * 因此视线判断、投掷物轨迹预测、烟雾覆盖、机器人逻辑等可以在工作线程中读取，而不必访问 {@code ServerLevel}。
+ * 每个体素占 1 位，按 x → z → y 的顺序排列在 long 数组中；网格之外的位置一律视为非实心。
+ * <p>
+ * 采集时无法读取的区块段（例如区块尚未加载）记为"未知"，按 16×16×16 对齐的区块段存放在另一个位掩码中。
+ * 未知区块段按实心处理，射线穿过时视为被遮挡，避免把尚未读取的墙体当成空气；可用 {@link #isComplete()} 判断快照是否完整。
+ * <p>
+ * 射线检测使用三维 DDA（逐格步进），每一步只是一次位读取，不分配对象。不依赖 Minecraft 类，可独立测试。
+ */
+public final class VoxelSnapshot {
+    /** {@link #raycast} 未命中时的返回值 */
+    public static final double MISS = -1.0;
+    /** 允许的最大体素数量（8M 位，约 1MB），限制在主线程一次采集的开销 */
+    public static final long MAX_VOLUME = 1L << 23;
+
+    /**
+     * 采集快照时查询某个方块坐标是否实心。
+     */
+    @FunctionalInterface
+    public interface SolidityProbe {
+        boolean isSolid(int x, int y, int z);
+    }
+
+    private final int originX;
+    private final int originY;
+    private final int originZ;
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+    private final long[] bits;
+    // 未知区块段的位掩码，按区块段坐标（相对网格所在的第一个区块段）排列；快照完整时为 null
+    private final long[] unknownSections;
+
+    private VoxelSnapshot(int originX, int originY, int originZ, int sizeX, int sizeY, int sizeZ, long[] bits, long[] unknownSections) {
+        this.originX = originX;
+        this.originY = originY;
+        this.originZ = originZ;
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.bits = bits;
+        this.unknownSections = unknownSections;
+    }
+
+    /**
+     * 采集一个长方体区域（包含两端）的实心度快照，逐个方块调用 probe。
+     * @param probe 实心度查询，只在本方法内调用
+     * @return 不可变的快照
+     * @throws IllegalArgumentException 如果区域为空或体积超过 {@link #MAX_VOLUME}
+     */
+    public static VoxelSnapshot capture(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, SolidityProbe probe) {
+        Builder builder = builder(minX, minY, minZ, maxX, maxY, maxZ);
+        for (int y = minY; y <= maxY; y++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                for (int x = minX; x <= maxX; x++) {
+                    if (probe.isSolid(x, y, z)) builder.setSolid(x, y, z);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * 为一个长方体区域（包含两端）创建构建器，由调用方按任意顺序写入实心方块（例如逐个区块段扫描）。
+     * @throws IllegalArgumentException 如果区域为空或体积超过 {@link #MAX_VOLUME}
+     */
+    public static Builder builder(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        long sizeX = (long) maxX - minX + 1;
+        long sizeY = (long) maxY - minY + 1;
+        long sizeZ = (long) maxZ - minZ + 1;
+        if (sizeX <= 0 || sizeY <= 0 || sizeZ <= 0) {
+            throw new IllegalArgumentException("Empty voxel region");
+        }
+        long volume = sizeX * sizeY * sizeZ;
+        if (volume > MAX_VOLUME) {
+            throw new IllegalArgumentException("Voxel region too large: " + volume + " > " + MAX_VOLUME);
+        }
+        return new Builder(minX, minY, minZ, (int) sizeX, (int) sizeY, (int) sizeZ);
+    }
+
+    /**
+     * 快照构建器。{@link #build()} 之后不能再写入，保证快照不可变。
+     */
+    public static final class Builder {
+        private final int originX;
+        private final int originY;
+        private final int originZ;
+        private final int sizeX;
+        private final int sizeY;
+        private final int sizeZ;
+        private long[] bits;
+        private long[] unknownSections;
+
+        private Builder(int originX, int originY, int originZ, int sizeX, int sizeY, int sizeZ) {
+            this.originX = originX;
+            this.originY = originY;
+            this.originZ = originZ;
+            this.sizeX = sizeX;
+            this.sizeY = sizeY;
+            this.sizeZ = sizeZ;
+            this.bits = new long[(int) (((long) sizeX * sizeY * sizeZ + 63) >>> 6)];
+        }
+
+        /**
+         * 将一个方块坐标标记为实心；网格之外的坐标被忽略。
+         * @throws IllegalStateException 如果已经调用过 {@link #build()}
+         */
+        public void setSolid(int x, int y, int z) {
+            if (bits == null) throw new IllegalStateException("Snapshot already built");
+            int lx = x - originX;
+            int ly = y - originY;
+            int lz = z - originZ;
+            if (lx < 0 || ly < 0 || lz < 0 || lx >= sizeX || ly >= sizeY || lz >= sizeZ) return;
+            int index = (ly * sizeZ + lz) * sizeX + lx;
+            bits[index >>> 6] |= 1L << index;
+        }
+
+        /**
+         * 将一个区块段（区块段坐标，即方块坐标 >> 4）标记为未知；与网格不相交的区块段被忽略。
+         * @throws IllegalStateException 如果已经调用过 {@link #build()}
+         */
+        public void markUnknownSection(int sectionX, int sectionY, int sectionZ) {
+            if (bits == null) throw new IllegalStateException("Snapshot already built");
+            int index = sectionIndex(originX, originY, originZ, sizeX, sizeY, sizeZ, sectionX, sectionY, sectionZ);
+            if (index < 0) return;
+            if (unknownSections == null) {
+                int count = sectionCount(originX, sizeX) * sectionCount(originY, sizeY) * sectionCount(originZ, sizeZ);
+                unknownSections = new long[(count + 63) >>> 6];
+            }
+            unknownSections[index >>> 6] |= 1L << index;
+        }
+
+        public VoxelSnapshot build() {
+            if (bits == null) throw new IllegalStateException("Snapshot already built");
+            long[] built = bits;
+            bits = null;
+            return new VoxelSnapshot(originX, originY, originZ, sizeX, sizeY, sizeZ, built, unknownSections);
+        }
+    }
+
+    /**
+     * @return 该方块坐标是否实心；位于未知区块段时返回 true，网格之外返回 false
+     */
+    public boolean isSolid(int x, int y, int z) {
+        int lx = x - originX;
+        int ly = y - originY;
+        int lz = z - originZ;
+        if (lx < 0 || ly < 0 || lz < 0 || lx >= sizeX || ly >= sizeY || lz >= sizeZ) return false;
+        int index = (ly * sizeZ + lz) * sizeX + lx;
+        if ((bits[index >>> 6] & (1L << index)) != 0) return true;
+        return unknownSections != null && isUnknown(x, y, z);
+    }
+
+    /**
+     * @return 该方块坐标是否位于采集时无法读取的区块段内；网格之外返回 false
+     */
+    public boolean isUnknown(int x, int y, int z) {
+        if (unknownSections == null || !contains(x, y, z)) return false;
+        int index = sectionIndex(originX, originY, originZ, sizeX, sizeY, sizeZ, x >> 4, y >> 4, z >> 4);
+        return (unknownSections[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @return 采集时是否读取到了网格内的所有区块段；为 false 时未知区块段按实心处理，结果偏保守
+     */
+    public boolean isComplete() {
+        return unknownSections == null;
+    }
+
+    /**
+     * @return 该方块坐标是否在快照网格内
+     */
+    public boolean contains(int x, int y, int z) {
+        int lx = x - originX;
+        int ly = y - originY;
+        int lz = z - originZ;
+        return lx >= 0 && ly >= 0 && lz >= 0 && lx < sizeX && ly < sizeY && lz < sizeZ;
+    }
+
+    /**
+     * 沿线段从起点到终点做 DDA 射线检测。
+     * @return 线段进入第一个实心体素时的参数 t（0 表示起点、1 表示终点，起点所在体素实心时为 0）；
+     *         线段上没有实心体素时返回 {@link #MISS}
+     */
+    public double raycast(double fromX, double fromY, double fromZ, double toX, double toY, double toZ) {
+        double dx = toX - fromX;
+        double dy = toY - fromY;
+        double dz = toZ - fromZ;
+
+        int x = (int) Math.floor(fromX);
+        int y = (int) Math.floor(fromY);
+        int z = (int) Math.floor(fromZ);
+        int endX = (int) Math.floor(toX);
+        int endY = (int) Math.floor(toY);
+        int endZ = (int) Math.floor(toZ);
+
+        int stepX = dx > 0 ? 1 : (dx < 0 ? -1 : 0);
+        int stepY = dy > 0 ? 1 : (dy < 0 ? -1 : 0);
+        int stepZ = dz > 0 ? 1 : (dz < 0 ? -1 : 0);
+
+        double tDeltaX = stepX != 0 ? Math.abs(1.0 / dx) : Double.POSITIVE_INFINITY;
+        double tDeltaY = stepY != 0 ? Math.abs(1.0 / dy) : Double.POSITIVE_INFINITY;
+        double tDeltaZ = stepZ != 0 ? Math.abs(1.0 / dz) : Double.POSITIVE_INFINITY;
+        double tMaxX = boundary(fromX, x, dx, stepX);
+        double tMaxY = boundary(fromY, y, dy, stepY);
+        double tMaxZ = boundary(fromZ, z, dz, stepZ);
+
+        int steps = Math.abs(endX - x) + Math.abs(endY - y) + Math.abs(endZ - z);
+        double t = 0.0;
+        for (int i = 0; i <= steps; i++) {
+            if (isSolid(x, y, z)) return t;
+            if (tMaxX < tMaxY) {
+                if (tMaxX < tMaxZ) {
+                    t = tMaxX;
+                    x += stepX;
+                    tMaxX += tDeltaX;
+                } else {
+                    t = tMaxZ;
+                    z += stepZ;
+                    tMaxZ += tDeltaZ;
+                }
+            } else if (tMaxY < tMaxZ) {
+                t = tMaxY;
+                y += stepY;
+                tMaxY += tDeltaY;
+            } else {
+                t = tMaxZ;
+                z += stepZ;
+                tMaxZ += tDeltaZ;
+            }
+            if (t > 1.0) break;
+        }
+        return MISS;
+    }
+
+    /**
+     * @return 线段上是否没有实心体素
+     */
+    public boolean hasLineOfSight(double fromX, double fromY, double fromZ, double toX, double toY, double toZ) {
+        return raycast(fromX, fromY, fromZ, toX, toY, toZ) == MISS;
+    }
+
+    /**
+     * @return 已读取到的实心体素数量（不含未知区块段）
+     */
+    public int countSolid() {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public int getOriginX() {
+        return originX;
+    }
+
+    public int getOriginY() {
+        return originY;
+    }
+
+    public int getOriginZ() {
+        return originZ;
+    }
+
+    public int getSizeX() {
+        return sizeX;
+    }
+
+    public int getSizeY() {
+        return sizeY;
+    }
+
+    public int getSizeZ() {
+        return sizeZ;
+    }
+
+    private static int sectionCount(int origin, int size) {
+        return ((origin + size - 1) >> 4) - (origin >> 4) + 1;
+    }
+
+    /**
+     * @return 区块段在未知掩码中的下标；与网格不相交时返回 -1
+     */
+    private static int sectionIndex(int originX, int originY, int originZ, int sizeX, int sizeY, int sizeZ,
+                                    int sectionX, int sectionY, int sectionZ) {
+        int sx = sectionX - (originX >> 4);
+        int sy = sectionY - (originY >> 4);
+        int sz = sectionZ - (originZ >> 4);
+        int countX = sectionCount(originX, sizeX);
+        int countY = sectionCount(originY, sizeY);
+        int countZ = sectionCount(originZ, sizeZ);
+        if (sx < 0 || sy < 0 || sz < 0 || sx >= countX || sy >= countY || sz >= countZ) return -1;
+        return (sy * countZ + sz) * countX + sx;
+    }
+
+    private static double boundary(double from, int cell, double delta, int step) {
+        if (step > 0) return (cell + 1 - from) / delta;
+        if (step < 0) return (from - cell) / -delta;
+        return Double.POSITIVE_INFINITY;
+    }
+}
@@ -1,6 +1,7 @@
 // 文件路径: com/qisumei/csgo/grenade/AbstractGrenadeEntity.java
 package com.qisumei.csgo.grenade;
 
+import net.minecraft.core.Direction;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
@@ -15,6 +16,13 @@ import javax.annotation.Nonnull;
 /**
  * AbstractGrenadeEntity —— 一个抽象的手榴弹实体类。
  * 它实现了自定义重力、空气阻力以及可控的弹跳行为，而不是使用原版的默认物理引擎。
+ * <p>
+ * 运动积分与弹跳反射都在 double 分量上计算，每个 tick 只写回一次速度，不再创建中间 {@link Vec3}。
+ * 停在地面上的手榴弹进入"静止"状态，跳过积分与碰撞检测，只在脚下失去支撑或被外力推动时恢复运动。
+ * <p>
+ * 注意：{@link ThrowableItemProjectile#tick()} 用 setPos 移动实体而不是 {@code Entity.move}，
+ * 因此 {@code onGround()} 对手榴弹永远为 false。静止状态改由碰撞路径进入：撞到方块的顶面（{@link Direction#UP}）时，
+ * 若已没有弹跳次数或弹跳后的速度低于阈值，就停在撞击点并进入静止状态（见 {@link #onHit}）。
  */
 public abstract class AbstractGrenadeEntity extends ThrowableItemProjectile {
 
@@ -49,6 +57,21 @@ public abstract class AbstractGrenadeEntity extends ThrowableItemProjectile {
      */
     private final double airDrag;
 
+    /**
+     * 落到方块顶面后速度（平方）低于此值时进入静止状态，与弹跳过小时触发效果的阈值一致。
+     */
+    private static final double REST_SPEED_SQR = 0.05D * 0.05D;
+
+    /**
+     * 静止状态下每隔多少 tick 检查一次脚下是否仍有支撑。
+     */
+    private static final int REST_SUPPORT_CHECK_INTERVAL = 10;
+
+    /**
+     * 是否处于静止状态。静止时跳过运动积分与碰撞检测。
+     */
+    private boolean resting;
+
     // =================================================================================
     // 构造函数
     // =================================================================================
@@ -94,17 +117,26 @@ public abstract class AbstractGrenadeEntity extends ThrowableItemProjectile {
      */
     @Override
     public void tick() {
-        // 步骤 1: 获取当前的运动向量 (速度)
-        Vec3 motion = this.getDeltaMovement();
-
-        // 步骤 2: 应用自定义重力。每一 tick，Y 轴速度都会减少 customGravity 的值。
-        motion = motion.add(0.0D, -this.customGravity, 0.0D);
+        // 静止状态：只执行实体的基础逻辑，不做积分与碰撞
+        if (this.resting) {
+            if (shouldWake()) {
+                this.resting = false;
+            } else {
+                this.baseTick();
+                return;
+            }
+        }
 
-        // 步骤 3: 应用空气阻力。将当前速度向量的每个分量都乘以 airDrag 系数，使其减速。
-        motion = motion.scale(this.airDrag);
+        // 步骤 1: 读取当前速度分量
+        Vec3 motion = this.getDeltaMovement();
+        // 步骤 2: 应用自定义重力（Y 轴速度减少 customGravity）
+        // 步骤 3: 应用空气阻力（各分量乘以 airDrag）
+        double vx = motion.x * this.airDrag;
+        double vy = (motion.y - this.customGravity) * this.airDrag;
+        double vz = motion.z * this.airDrag;
 
-        // 步骤 4: 将计算后的新速度应用回实体。
-        this.setDeltaMovement(motion);
+        // 步骤 4: 将新速度一次性写回实体。
+        this.setDeltaMovement(vx, vy, vz);
 
         // 步骤 5: 调用父类的 tick()。这非常重要，因为它会根据 setDeltaMovement 设定的速度来更新实体位置，并处理碰撞检测。
         super.tick();
@@ -113,15 +145,23 @@ public abstract class AbstractGrenadeEntity extends ThrowableItemProjectile {
         if (this.level().isClientSide) {
             this.level().addParticle(ParticleTypes.CRIT, this.getX(), this.getY(), this.getZ(), 0, 0, 0);
         }
+        // 步骤 7: 是否进入静止状态在碰撞路径中判断（见 onHit），这里不依赖永远为 false 的 onGround()。
+    }
 
-        // 步骤 7: 添加一个速度阈值判断，防止手榴弹在地面上无限抖动。
-        Vec3 currentMotion = this.getDeltaMovement(); // 再次获取速度
-        double speed = currentMotion.length(); // 计算速度大小
-        // 当速度非常小 (小于0.02) 并且实体在地面上时
-        if (speed < 0.02D && this.onGround()) {
-            this.setDeltaMovement(Vec3.ZERO); // 强行停止所有运动
-            // 在这里你可以选择直接触发 onImpact，或者等待其自然消失
-        }
+    /**
+     * @return 手榴弹是否处于静止状态
+     */
+    protected boolean isResting() {
+        return this.resting;
+    }
+
+    /**
+     * 静止的手榴弹被外力推动（速度不再为零）或脚下失去支撑时恢复运动。
+     */
+    private boolean shouldWake() {
+        if (this.getDeltaMovement().lengthSqr() > 0.0D) return true;
+        if (this.tickCount % REST_SUPPORT_CHECK_INTERVAL != 0) return false;
+        return this.level().noCollision(this, this.getBoundingBox().move(0.0D, -0.04D, 0.0D));
     }
 
 
@@ -139,46 +179,71 @@ public abstract class AbstractGrenadeEntity extends ThrowableItemProjectile {
 
         // 判断碰撞类型
         if (result.getType() == HitResult.Type.BLOCK) { // 如果撞到方块
-            if (this.bouncesLeft > 0) { // 如果还有剩余弹跳次数
-                performBounce((BlockHitResult) result); // 执行弹跳逻辑
+            BlockHitResult blockHit = (BlockHitResult) result;
+            boolean bounced = this.bouncesLeft > 0;
+            if (bounced) { // 如果还有剩余弹跳次数
+                performBounce(blockHit); // 执行弹跳逻辑
                 this.bouncesLeft--; // 弹跳次数减 1
             } else { // 如果没有弹跳次数了
                 onImpact(result); // 触发最终效果
             }
+
+            // 落在方块顶面且不再弹起（没有弹跳次数或弹跳后速度过小）：停在撞击点并进入静止状态
+            if (blockHit.getDirection() == Direction.UP
+                    && (!bounced || this.getDeltaMovement().lengthSqr() < REST_SPEED_SQR)) {
+                settle(blockHit);
+            }
         } else if (result.getType() == HitResult.Type.ENTITY) { // 如果撞到实体
             onImpact(result); // 直接触发最终效果，通常手榴弹撞到人不会弹开
         }
     }
 
+    /**
+     * 停在撞击点并进入静止状态。父类 tick 随后以零速度调用 setPos，实体保持在撞击点。
+     */
+    private void settle(BlockHitResult result) {
+        if (!this.isAlive()) return;
+        Vec3 hit = result.getLocation();
+        this.setPos(hit.x, hit.y, hit.z);
+        this.setDeltaMovement(Vec3.ZERO);
+        this.resting = true;
+    }
+
     /**
      * 执行弹跳的具体逻辑。
      * @param result 带有方块碰撞信息的 HitResult
      */
     private void performBounce(BlockHitResult result) {
         Vec3 motion = this.getDeltaMovement(); // 获取当前速度
-        double motionMagnitude = motion.length(); // 获取速度大小
+        double mx = motion.x;
+        double my = motion.y;
+        double mz = motion.z;
 
         // 如果撞击时速度已经很小，就没必要弹跳了，直接触发效果，防止无限微小弹跳
-        if (motionMagnitude < 0.1D) {
+        if (mx * mx + my * my + mz * mz < 0.1D * 0.1D) {
             this.bouncesLeft = 0;
             onImpact(result);
             return;
         }
 
         // 计算反射向量，这是物理学中的标准反射公式
-        // 1. 获取碰撞面的法线向量
-        Vec3 normal = new Vec3(result.getDirection().step());
+        // 1. 获取碰撞面的法线分量
+        Direction face = result.getDirection();
+        int nx = face.getStepX();
+        int ny = face.getStepY();
+        int nz = face.getStepZ();
         // 2. 计算反射向量: reflection = motion - 2 * (motion · normal) * normal
-        Vec3 reflection = motion.subtract(normal.scale(2.0D * motion.dot(normal)));
-
-        // 将反射后的向量乘以弹跳能量系数，模拟能量损失
-        Vec3 newMotion = reflection.scale(this.bouncePower);
+        double twiceDot = 2.0D * (mx * nx + my * ny + mz * nz);
+        // 3. 将反射后的向量乘以弹跳能量系数，模拟能量损失
+        double vx = (mx - twiceDot * nx) * this.bouncePower;
+        double vy = (my - twiceDot * ny) * this.bouncePower;
+        double vz = (mz - twiceDot * nz) * this.bouncePower;
 
         // 更新实体的速度为弹跳后的新速度
-        this.setDeltaMovement(newMotion);
+        this.setDeltaMovement(vx, vy, vz);
 
         // 如果弹跳后的速度过小，也直接触发效果
-        if (newMotion.length() < 0.05D) {
+        if (vx * vx + vy * vy + vz * vz < 0.05D * 0.05D) {
             this.bouncesLeft = 0;
             onImpact(result);
         }
@@ -2,6 +2,7 @@ package com.qisumei.csgo.grenade;
 
 import com.qisumei.csgo.QisCSGO;
 import com.qisumei.csgo.entity.ModEntityTypes;
+import com.qisumei.csgo.game.Match;
 import net.minecraft.core.particles.ParticleOptions;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.server.level.ServerLevel;
@@ -27,6 +28,9 @@ public class SmokeGrenadeEntity extends AbstractGrenadeEntity {
     // --- 状态变量 ---
     private boolean isSmoking = false; // 是否正在产生烟雾
     private int smokeTicksLeft = 0; // 烟雾剩余持续时间
+    private int sampleCursor; // 采样表游标
+    private int sampleStride = 1; // 采样表步长（奇数）
+    private Match owningMatch; // 烟雾所在的比赛，用于申请粒子预算；不在比赛中时为 null
     public SmokeGrenadeEntity(Level world, LivingEntity owner) {
 
 
@@ -40,6 +44,12 @@ public class SmokeGrenadeEntity extends AbstractGrenadeEntity {
         if (!this.level().isClientSide && !isSmoking) {
             this.isSmoking = true;
             this.smokeTicksLeft = SMOKE_DURATION_TICKS;
+            // 每颗烟雾从采样表的不同位置、以不同步长开始读取
+            this.sampleCursor = this.random.nextInt(SmokeSampleTable.SIZE);
+            this.sampleStride = SmokeSampleTable.stride(this.random.nextInt());
+            if (this.level() instanceof ServerLevel serverLevel) {
+                this.owningMatch = SmokeParticleRouter.findMatchAt(serverLevel, this.getX(), this.getY(), this.getZ());
+            }
             //this.setDeltaMovement(Vec3.ZERO);
         }
     }
@@ -58,41 +68,38 @@ public class SmokeGrenadeEntity extends AbstractGrenadeEntity {
     }
     /**
      * 生成更大更浓的烟雾粒子。
+     * 采样点来自 {@link SmokeSampleTable}，粒子数受所在比赛的粒子预算限制；
+     * 整朵烟雾每 tick 打包为一个捆绑包发给附近玩家，见 {@link SmokeParticleBatch}。
      */
     private void spawnSmokeCloud(ServerLevel serverLevel) {
-    // 粒子类型（CAMPFIRE_COSY_SMOKE 比较柔和，CAMPFIRE_SIGNAL_SMOKE更大）
-    ParticleOptions mainSmoke = ParticleTypes.CAMPFIRE_COSY_SMOKE;
-    ParticleOptions denseSmoke = ParticleTypes.CAMPFIRE_SIGNAL_SMOKE;
+        int count = PARTICLES_PER_TICK * 2;
+        if (owningMatch != null && owningMatch.getState() == Match.MatchState.IN_PROGRESS) {
+            count = owningMatch.acquireParticleBudget(serverLevel.getGameTime(), count);
+        }
+        if (count <= 0) return;
+
+        // 粒子类型（CAMPFIRE_COSY_SMOKE 比较柔和，CAMPFIRE_SIGNAL_SMOKE更大）
+        ParticleOptions mainSmoke = ParticleTypes.CAMPFIRE_COSY_SMOKE;
+        ParticleOptions denseSmoke = ParticleTypes.CAMPFIRE_SIGNAL_SMOKE;
 
-    for (int i = 0; i < PARTICLES_PER_TICK * 2; i++) {
-        // === ✅ 随机生成一个球体内的点 ===
-        double theta = this.random.nextDouble() * 2 * Math.PI;   // 水平角度
-        double phi = Math.acos(2 * this.random.nextDouble() - 1); // 垂直角度
-        double r = SMOKE_RADIUS * Math.cbrt(this.random.nextDouble()); // 半径（立方根保证分布均匀）
+        double centerX = this.getX();
+        double centerY = this.getY();
+        double centerZ = this.getZ();
+        SmokeParticleBatch batch = new SmokeParticleBatch(count);
 
-        // 球坐标转笛卡尔坐标
-        double offsetX = r * Math.sin(phi) * Math.cos(theta);
-        double offsetY = r * Math.cos(phi); // ✅ 保证上下都有烟
-        double offsetZ = r * Math.sin(phi) * Math.sin(theta);
-        // === ✅ 上升速度（轻微浮动） ===
-        double velocityX = (this.random.nextDouble() - 0.5D) * 0.02D;
-        double velocityY = 0.05D + this.random.nextDouble() * 0.1D;
-        double velocityZ = (this.random.nextDouble() - 0.5D) * 0.02D;
-        // === ✅ 中心更浓，边缘更淡 ===
-        double densityChance = 1.0 - (r / SMOKE_RADIUS); // 越靠近中心越浓
-        ParticleOptions particle = (this.random.nextDouble() < densityChance * 0.7)
-                ? denseSmoke : mainSmoke;
-        serverLevel.sendParticles(
-            particle,
-            this.getX() + offsetX,
-            this.getY() + offsetY,
-            this.getZ() + offsetZ,
-            1,
-            0, 0, 0,
-            0
-        );
+        int cursor = this.sampleCursor;
+        for (int i = 0; i < count; i++) {
+            batch.add(SmokeSampleTable.isDense(cursor) ? denseSmoke : mainSmoke,
+                centerX + SmokeSampleTable.x(cursor) * SMOKE_RADIUS,
+                centerY + SmokeSampleTable.y(cursor) * SMOKE_RADIUS,
+                centerZ + SmokeSampleTable.z(cursor) * SMOKE_RADIUS);
+            cursor = SmokeSampleTable.next(cursor, sampleStride);
+        }
+        this.sampleCursor = cursor;
+
+        batch.sendAround(serverLevel, centerX, centerY, centerZ, SMOKE_RADIUS);
     }
-}
+
     @Override
     protected Item getDefaultItem() {
         return QisCSGO.SMOKE_GRENADE_ITEM.get();
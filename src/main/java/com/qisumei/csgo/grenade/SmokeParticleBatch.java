@@ -0,0 +1,74 @@
+package com.qisumei.csgo.grenade;
+
+import net.minecraft.core.particles.ParticleOptions;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientGamePacketListener;
+import net.minecraft.network.protocol.game.ClientboundBundlePacket;
+import net.minecraft.network.protocol.game.ClientboundLevelParticlesPacket;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 一个 tick 内的烟雾粒子批次。
+ * <p>
+ * 烟雾云每 tick 只采样一次：每个粒子构造一个 {@link ClientboundLevelParticlesPacket}，
+ * 按细节等级打包为 {@link ClientboundBundlePacket}（每个等级至多一个），再把同一个包实例发给该等级的所有接收者。
+ * 接收者与细节等级由 {@link SmokeParticleRouter} 决定。
+ * 不再对每个粒子调用一次 {@link ServerLevel#sendParticles}（经 {@code ServerLevelMixin} 后每次都要遍历整个世界的玩家并各自发包）。
+ * <p>
+ * 批次发送后其中的包可能仍在网络线程中编码，因此每个 tick 使用新的批次，不复用。
+ */
+public final class SmokeParticleBatch {
+    private final List<Packet<? super ClientGamePacketListener>> packets;
+
+    public SmokeParticleBatch(int expectedParticles) {
+        this.packets = new ArrayList<>(expectedParticles);
+    }
+
+    /**
+     * 添加一个静止的单粒子（强制客户端渲染，不受粒子设置限制）。
+     */
+    public void add(ParticleOptions particle, double x, double y, double z) {
+        packets.add(new ClientboundLevelParticlesPacket(particle, true, x, y, z, 0.0F, 0.0F, 0.0F, 0.0F, 1));
+    }
+
+    public boolean isEmpty() {
+        return packets.isEmpty();
+    }
+
+    /**
+     * 把批次发给能看到中心点的玩家，远处的玩家按细节等级只收到部分粒子。
+     * @param extent 批次中粒子相对中心点的最大偏移，计入可见距离
+     * @return 收到批次的玩家数量
+     */
+    public int sendAround(ServerLevel level, double centerX, double centerY, double centerZ, double extent) {
+        if (packets.isEmpty()) return 0;
+
+        List<ServerPlayer> viewers = SmokeParticleRouter.collectViewers(level, centerX, centerY, centerZ, extent);
+        if (viewers.isEmpty()) return 0;
+
+        ClientboundBundlePacket[] bundles = new ClientboundBundlePacket[SmokeParticleRouter.LOD_LEVELS];
+        for (ServerPlayer viewer : viewers) {
+            int lod = SmokeParticleRouter.lodLevel(viewer.distanceToSqr(centerX, centerY, centerZ));
+            ClientboundBundlePacket bundle = bundles[lod];
+            if (bundle == null) {
+                bundle = new ClientboundBundlePacket(thinned(1 << lod));
+                bundles[lod] = bundle;
+            }
+            viewer.connection.send(bundle);
+        }
+        return viewers.size();
+    }
+
+    private List<Packet<? super ClientGamePacketListener>> thinned(int stride) {
+        if (stride == 1) return packets;
+        List<Packet<? super ClientGamePacketListener>> subset = new ArrayList<>((packets.size() + stride - 1) / stride);
+        for (int i = 0; i < packets.size(); i += stride) {
+            subset.add(packets.get(i));
+        }
+        return subset;
+    }
+}
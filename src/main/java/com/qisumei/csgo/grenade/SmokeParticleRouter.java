@@ -0,0 +1,141 @@
+package com.qisumei.csgo.grenade;
+
+import com.qisumei.csgo.game.Match;
+import com.qisumei.csgo.service.ServiceFallbacks;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.particles.ParticleOptions;
+import net.minecraft.network.protocol.game.ClientboundLevelParticlesPacket;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.players.PlayerList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 烟雾粒子的接收者路由。
+ * <p>
+ * 位于某场进行中比赛区域内的烟雾只发给这场比赛的在线参赛者与观战者，大厅玩家和其他比赛的玩家不会收到；
+ * 不属于任何比赛的烟雾（例如大厅里的篝火）仍然发给世界内范围以内的所有玩家。
+ * <p>
+ * 每个接收者再按距离选择细节等级（LOD）：近处收到全部粒子，越远粒子越稀疏（每级减半），
+ * 使烟雾的开销随真正能看到它的玩家数量与距离增长。只能在服务器主线程使用。
+ */
+public final class SmokeParticleRouter {
+    /**
+     * 粒子的最大发送距离，与原版 {@code ServerLevel.sendParticles(ServerPlayer, ..., true, ...)} 的远距离上限一致：
+     * 从玩家所在方块的中心量起，超过 512 格的玩家不会收到。
+     */
+    public static final double VIEW_RANGE = 512.0;
+
+    // 各细节等级的距离上限，超出最后一级的使用最稀疏的等级
+    private static final double[] LOD_RANGES = {48.0, 128.0, 320.0};
+    /** 细节等级数量，等级 n 的粒子保留比例为 1 / 2^n */
+    public static final int LOD_LEVELS = LOD_RANGES.length + 1;
+
+    // 复用的接收者列表，每次路由前清空
+    private static final List<ServerPlayer> VIEWERS = new ArrayList<>();
+    // 单粒子调用的序号，用于远处玩家按步长抽样
+    private static int sequence;
+
+    private SmokeParticleRouter() {
+    }
+
+    /**
+     * 收集能看到指定位置粒子的玩家。
+     * 返回的列表在下一次调用前有效，调用方不能保存或修改它。
+     * @param extent 粒子相对该位置的最大偏移，计入可见距离（原版逐粒子判断，批次中离玩家最近的粒子可能比中心近 extent）
+     */
+    public static List<ServerPlayer> collectViewers(ServerLevel level, double x, double y, double z, double extent) {
+        VIEWERS.clear();
+        double range = VIEW_RANGE + extent;
+        double rangeSq = range * range;
+
+        Match match = findMatchAt(level, x, y, z);
+        if (match == null) {
+            for (ServerPlayer player : level.players()) {
+                addIfInRange(player, x, y, z, rangeSq);
+            }
+            return VIEWERS;
+        }
+
+        for (ServerPlayer player : match.getRoster().getOnlinePlayers()) {
+            if (player.level() == level) addIfInRange(player, x, y, z, rangeSq);
+        }
+        PlayerList playerList = level.getServer().getPlayerList();
+        for (UUID watcherId : match.getWatchers()) {
+            ServerPlayer watcher = playerList.getPlayer(watcherId);
+            if (watcher != null && watcher.level() == level) addIfInRange(watcher, x, y, z, rangeSq);
+        }
+        return VIEWERS;
+    }
+
+    /**
+     * 根据与粒子的距离平方选择细节等级。
+     * @return 0 表示完整细节，数值越大粒子越稀疏
+     */
+    public static int lodLevel(double distanceSq) {
+        for (int i = 0; i < LOD_RANGES.length; i++) {
+            if (distanceSq <= LOD_RANGES[i] * LOD_RANGES[i]) return i;
+        }
+        return LOD_RANGES.length;
+    }
+
+    /**
+     * 按路由与细节等级发送一次 {@link ServerLevel#sendParticles} 调用的粒子（强制客户端渲染）。
+     * 数量大于 1 时按等级减少数量；单粒子调用则按调用序号抽样，远处玩家只收到其中一部分。
+     * @return 收到粒子的玩家数量
+     */
+    public static int sendParticles(ServerLevel level, ParticleOptions type,
+                                    double x, double y, double z, int count,
+                                    double xOffset, double yOffset, double zOffset, double speed) {
+        List<ServerPlayer> viewers = collectViewers(level, x, y, z, 0.0);
+        if (viewers.isEmpty()) return 0;
+
+        int seq = sequence++;
+        ClientboundLevelParticlesPacket[] packets = new ClientboundLevelParticlesPacket[LOD_LEVELS];
+        int sent = 0;
+        for (ServerPlayer viewer : viewers) {
+            int lod = lodLevel(viewer.distanceToSqr(x, y, z));
+            int stride = 1 << lod;
+            int lodCount = count;
+            if (count > 1) {
+                lodCount = (count + stride - 1) / stride;
+            } else if (seq % stride != 0) {
+                continue;
+            }
+
+            ClientboundLevelParticlesPacket packet = packets[lod];
+            if (packet == null) {
+                packet = new ClientboundLevelParticlesPacket(type, true, x, y, z,
+                    (float) xOffset, (float) yOffset, (float) zOffset, (float) speed, lodCount);
+                packets[lod] = packet;
+            }
+            viewer.connection.send(packet);
+            sent++;
+        }
+        return sent;
+    }
+
+    /**
+     * @return 该位置所属的进行中比赛，不属于任何比赛时返回 null
+     */
+    public static Match findMatchAt(ServerLevel level, double x, double y, double z) {
+        // 比赛都在主世界进行
+        if (level != level.getServer().overworld()) return null;
+        for (Match match : ServiceFallbacks.getAllMatches()) {
+            if (match.isInEffectArea(x, y, z)) return match;
+        }
+        return null;
+    }
+
+    private static void addIfInRange(ServerPlayer player, double x, double y, double z, double rangeSq) {
+        // 与原版一致，以玩家所在方块的中心计算距离
+        BlockPos pos = player.blockPosition();
+        double dx = pos.getX() + 0.5 - x;
+        double dy = pos.getY() + 0.5 - y;
+        double dz = pos.getZ() + 0.5 - z;
+        if (dx * dx + dy * dy + dz * dz < rangeSq) VIEWERS.add(player);
+    }
+}
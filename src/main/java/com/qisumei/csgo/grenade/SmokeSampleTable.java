@@ -0,0 +1,91 @@
+package com.qisumei.csgo.grenade;
+
+import java.util.Random;
+
+/**
+ * 预先计算的烟雾采样表：单位球内均匀分布的采样点及其浓烟标记。
+ * <p>
+ * 采样点在类加载时用固定种子一次生成（立方根半径 + 均匀方向，与原先逐粒子计算的分布相同），并打乱顺序；
+ * 每个点同时预先决定是否使用浓烟粒子（越靠近中心概率越大）。
+ * 发射烟雾时只需按游标读取数组并乘以半径，不再每个粒子调用 acos/cbrt/sin/cos 和四次随机数。
+ * <p>
+ * 游标以 {@link #SIZE} 为模，调用方用 {@link #next(int, int)} 以奇数步长前进，不同烟雾使用不同的起点与步长，
+ * 因此同时存在的烟雾不会呈现相同的图案。不依赖 Minecraft 类。
+ */
+public final class SmokeSampleTable {
+    /** 采样点数量（2 的幂） */
+    public static final int SIZE = 1024;
+    private static final int MASK = SIZE - 1;
+    private static final long SEED = 0x5EED_C5C0L;
+
+    private static final float[] X = new float[SIZE];
+    private static final float[] Y = new float[SIZE];
+    private static final float[] Z = new float[SIZE];
+    private static final boolean[] DENSE = new boolean[SIZE];
+
+    static {
+        Random random = new Random(SEED);
+        for (int i = 0; i < SIZE; i++) {
+            double theta = random.nextDouble() * 2 * Math.PI;     // 水平角度
+            double phi = Math.acos(2 * random.nextDouble() - 1);  // 垂直角度
+            double r = Math.cbrt(random.nextDouble());            // 半径（立方根保证分布均匀）
+            X[i] = (float) (r * Math.sin(phi) * Math.cos(theta));
+            Y[i] = (float) (r * Math.cos(phi));
+            Z[i] = (float) (r * Math.sin(phi) * Math.sin(theta));
+            // 中心更浓，边缘更淡
+            DENSE[i] = random.nextDouble() < (1.0 - r) * 0.7;
+        }
+        // Fisher-Yates 打乱，使相邻游标位置之间没有生成顺序上的关联
+        for (int i = SIZE - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            swap(X, i, j);
+            swap(Y, i, j);
+            swap(Z, i, j);
+            boolean dense = DENSE[i];
+            DENSE[i] = DENSE[j];
+            DENSE[j] = dense;
+        }
+    }
+
+    private SmokeSampleTable() {
+    }
+
+    public static float x(int index) {
+        return X[index & MASK];
+    }
+
+    public static float y(int index) {
+        return Y[index & MASK];
+    }
+
+    public static float z(int index) {
+        return Z[index & MASK];
+    }
+
+    /**
+     * @return 该采样点是否使用浓烟粒子
+     */
+    public static boolean isDense(int index) {
+        return DENSE[index & MASK];
+    }
+
+    /**
+     * 将任意整数转为奇数步长，保证以 {@link #SIZE} 为模前进时会遍历全部采样点。
+     */
+    public static int stride(int seed) {
+        return (seed & MASK) | 1;
+    }
+
+    /**
+     * @return 游标前进一步后的位置
+     */
+    public static int next(int cursor, int stride) {
+        return (cursor + stride) & MASK;
+    }
+
+    private static void swap(float[] array, int i, int j) {
+        float tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+}
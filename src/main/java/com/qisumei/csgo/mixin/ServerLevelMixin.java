@@ -1,23 +1,17 @@
 package com.qisumei.csgo.mixin;
 
+import com.qisumei.csgo.grenade.SmokeParticleRouter;
 import net.minecraft.core.particles.ParticleOptions;
 import net.minecraft.core.particles.ParticleTypes;
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.server.level.ServerPlayer;
 import org.spongepowered.asm.mixin.Mixin;
-import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
-import java.util.List;
-
 @Mixin(ServerLevel.class)
 public abstract class ServerLevelMixin {
 
-    @Shadow
-    public List<ServerPlayer> players;
-
     @Inject(method = "sendParticles(Lnet/minecraft/core/particles/ParticleOptions;DDDIDDDD)I",
             at = @At("HEAD"), cancellable = true)
     private <T extends ParticleOptions> void interceptSendParticles(T type,
@@ -26,24 +20,11 @@ public abstract class ServerLevelMixin {
                                                                     double xOffset, double yOffset, double zOffset,
                                                                     double speed,
                                                                     CallbackInfoReturnable<Integer> cir) {
-        // 修改篝火烟雾粒子
+        // 篝火烟雾粒子：按所属比赛路由接收者，并按距离降低细节
         if (type.getType() == ParticleTypes.CAMPFIRE_COSY_SMOKE || type.getType() == ParticleTypes.CAMPFIRE_SIGNAL_SMOKE) {
-            cir.cancel();
-
-            double customRange = 1280.0;
-            double customRangeSq = customRange * customRange;
             ServerLevel self = (ServerLevel) (Object) this;
-
-            int sent = 0;
-            for (ServerPlayer player : this.players) {
-                if (player.distanceToSqr(posX, posY, posZ) < customRangeSq) {
-                    //true，强制客户端渲染
-                    boolean ok = self.sendParticles(player, type, true, posX, posY, posZ, particleCount, xOffset, yOffset, zOffset, speed);
-                    if (ok) sent++;
-                }
-            }
-
-            cir.setReturnValue(sent);
+            cir.setReturnValue(SmokeParticleRouter.sendParticles(self, type, posX, posY, posZ,
+                particleCount, xOffset, yOffset, zOffset, speed));
         }
     }
 }
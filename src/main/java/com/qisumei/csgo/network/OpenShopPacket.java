@@ -52,10 +52,8 @@ public record OpenShopPacket() implements CustomPacketPayload {
                     return;
                 }
 
-                String team = stats.getTeam();
-
                 // 打开商店GUI
-                ShopGUI.openShop(player, team);
+                ShopGUI.openShop(player, stats.getTeam());
             }
         });
     }
@@ -1,10 +1,15 @@
 package com.qisumei.csgo.server;
 
+import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 
 /**
  * 抽象化的服务器命令执行器，封装对控制台/玩家命令执行的调用。
  * 这样可以在未来替换实现、便于单元测试并降低对具体工具类的耦合。
+ * <p>
+ * 回合流程中的高频操作（标题、聊天广播、队伍成员、发放物品、击退抗性）使用类型化方法，
+ * 实现应直接调用游戏 API 完成，不经过命令字符串的拼接与 Brigadier 解析；
+ * {@link #executeGlobal(String)} / {@link #executeForPlayer(ServerPlayer, String)} 仅保留给低频的原始命令。
  */
 public interface ServerCommandExecutor {
     /**
@@ -19,5 +24,50 @@ public interface ServerCommandExecutor {
      * @param command 要执行的命令字符串
      */
     void executeForPlayer(ServerPlayer player, String command);
-}
 
+    /**
+     * 向玩家显示屏幕标题（等同于 {@code title <player> title <json>}）。
+     * @param player 目标玩家
+     * @param title 标题文本
+     */
+    void sendTitle(ServerPlayer player, Component title);
+
+    /**
+     * 向服务器所有玩家广播一条系统消息（等同于 {@code tellraw @a <json>}）。
+     * @param message 消息文本
+     */
+    void broadcastSystemMessage(Component message);
+
+    /**
+     * 将玩家加入计分板队伍（等同于 {@code team join <team> <player>}）。
+     * @param player 目标玩家
+     * @param teamName 计分板队伍名，队伍不存在时不做任何操作
+     */
+    void joinTeam(ServerPlayer player, String teamName);
+
+    /**
+     * 将玩家移出其所在的计分板队伍（等同于 {@code team leave <player>}）。
+     * @param player 目标玩家
+     */
+    void leaveTeam(ServerPlayer player);
+
+    /**
+     * 删除计分板队伍（等同于 {@code team remove <team>}）。
+     * @param teamName 计分板队伍名，队伍不存在时不做任何操作
+     */
+    void removeTeam(String teamName);
+
+    /**
+     * 给予玩家物品（等同于 {@code give <player> <item> [count]}），背包放不下的部分掉落在玩家脚下。
+     * @param player 目标玩家
+     * @param itemSpec 物品描述，格式为 "namespace:id[components] [count]"
+     */
+    void giveItem(ServerPlayer player, String itemSpec);
+
+    /**
+     * 设置玩家击退抗性的基础值（等同于 {@code attribute <player> minecraft:generic.knockback_resistance base set <amount>}）。
+     * @param player 目标玩家
+     * @param amount 击退抗性的值
+     */
+    void setKnockbackResistance(ServerPlayer player, double amount);
+}
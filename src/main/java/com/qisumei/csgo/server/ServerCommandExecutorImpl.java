@@ -1,14 +1,34 @@
 package com.qisumei.csgo.server;
 
+import com.mojang.brigadier.StringReader;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.qisumei.csgo.QisCSGO;
 import com.qisumei.csgo.util.ServerCommands;
+import net.minecraft.commands.arguments.item.ItemParser;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.game.ClientboundSetTitleTextPacket;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.ai.attributes.AttributeInstance;
+import net.minecraft.world.entity.ai.attributes.Attributes;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.scores.PlayerTeam;
+import net.minecraft.world.scores.Scoreboard;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * 默认实现，简单委托到现有的 ServerCommands 工具类。
+ * 默认实现：原始命令委托到现有的 ServerCommands 工具类，类型化操作直接调用游戏 API。
+ * <p>
+ * {@link #giveItem(ServerPlayer, String)} 的物品描述只在第一次使用时解析，之后复用缓存的物品模板，
+ * 每次发放只做一次 {@link ItemStack#copy()}。
  */
 public class ServerCommandExecutorImpl implements ServerCommandExecutor {
     private final MinecraftServer server;
+    // 物品描述 -> 已解析的物品模板（含数量），解析失败时缓存 ItemStack.EMPTY 避免重复解析与刷屏
+    private final Map<String, ItemStack> itemTemplates = new ConcurrentHashMap<>();
 
     public ServerCommandExecutorImpl(MinecraftServer server) {
         this.server = server;
@@ -24,5 +44,83 @@ public class ServerCommandExecutorImpl implements ServerCommandExecutor {
         // 保持原语义：通过 player.server 执行原始命令（兼容现有用法）
         ServerCommands.execute(player.server, command);
     }
-}
 
+    @Override
+    public void sendTitle(ServerPlayer player, Component title) {
+        player.connection.send(new ClientboundSetTitleTextPacket(title));
+    }
+
+    @Override
+    public void broadcastSystemMessage(Component message) {
+        server.getPlayerList().broadcastSystemMessage(message, false);
+    }
+
+    @Override
+    public void joinTeam(ServerPlayer player, String teamName) {
+        Scoreboard scoreboard = server.getScoreboard();
+        PlayerTeam team = scoreboard.getPlayerTeam(teamName);
+        if (team == null) {
+            QisCSGO.LOGGER.warn("无法将玩家 {} 加入队伍 '{}'：队伍不存在。", player.getScoreboardName(), teamName);
+            return;
+        }
+        scoreboard.addPlayerToTeam(player.getScoreboardName(), team);
+    }
+
+    @Override
+    public void leaveTeam(ServerPlayer player) {
+        server.getScoreboard().removePlayerFromTeam(player.getScoreboardName());
+    }
+
+    @Override
+    public void removeTeam(String teamName) {
+        Scoreboard scoreboard = server.getScoreboard();
+        PlayerTeam team = scoreboard.getPlayerTeam(teamName);
+        if (team != null) {
+            scoreboard.removePlayerTeam(team);
+        }
+    }
+
+    @Override
+    public void giveItem(ServerPlayer player, String itemSpec) {
+        ItemStack template = itemTemplates.computeIfAbsent(itemSpec, this::parseItemSpec);
+        if (template.isEmpty()) return;
+
+        ItemStack stack = template.copy();
+        if (!player.getInventory().add(stack) || !stack.isEmpty()) {
+            // 背包已满：与 give 命令一致，将剩余物品掉落在玩家脚下并只允许该玩家拾取
+            ItemEntity dropped = player.drop(stack, false);
+            if (dropped != null) {
+                dropped.setNoPickUpDelay();
+                dropped.setTarget(player.getUUID());
+            }
+        }
+        player.containerMenu.broadcastChanges();
+    }
+
+    @Override
+    public void setKnockbackResistance(ServerPlayer player, double amount) {
+        AttributeInstance attribute = player.getAttribute(Attributes.KNOCKBACK_RESISTANCE);
+        if (attribute != null) {
+            attribute.setBaseValue(amount);
+        }
+    }
+
+    /**
+     * 解析 "namespace:id[components] [count]" 格式的物品描述（与 give 命令参数格式一致）。
+     */
+    private ItemStack parseItemSpec(String itemSpec) {
+        try {
+            StringReader reader = new StringReader(itemSpec.trim());
+            ItemParser.ItemResult result = new ItemParser(server.registryAccess()).parse(reader);
+            int count = 1;
+            reader.skipWhitespace();
+            if (reader.canRead()) {
+                count = Math.max(1, reader.readInt());
+            }
+            return new ItemStack(result.item(), count, result.components());
+        } catch (CommandSyntaxException e) {
+            QisCSGO.LOGGER.warn("无法解析物品描述 '{}'：{}", itemSpec, e.getMessage());
+            return ItemStack.EMPTY;
+        }
+    }
+}
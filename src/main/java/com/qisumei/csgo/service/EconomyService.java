@@ -22,6 +22,21 @@ public interface EconomyService {
      */
     void setMoney(ServerPlayer player, int amount);
     
+    /**
+     * 批量给多名玩家增加货币，一次性写入账本，不发送提示（由调用方合并通知）。
+     * @param players 目标玩家
+     * @param amounts 与 players 下标一一对应的货币数量
+     * @return 与 players 下标一一对应的操作后余额
+     */
+    int[] creditAll(ServerPlayer[] players, int[] amounts);
+
+    /**
+     * 批量设置多名玩家的货币数量，不发送提示。
+     * @param players 目标玩家
+     * @param amount 新的货币数量
+     */
+    void setMoneyAll(ServerPlayer[] players, int amount);
+
     /**
      * 根据使用的武器获取击杀奖励金额。
      * @param weapon 武器物品栈
@@ -19,6 +19,16 @@ public class EconomyServiceImpl implements EconomyService {
         EconomyManager.setMoney(player, amount);
     }
 
+    @Override
+    public int[] creditAll(ServerPlayer[] players, int[] amounts) {
+        return EconomyManager.creditAll(players, amounts);
+    }
+
+    @Override
+    public void setMoneyAll(ServerPlayer[] players, int amount) {
+        EconomyManager.setMoneyAll(players, amount);
+    }
+
     @Override
     public int getRewardForKill(ItemStack weapon) {
         return EconomyManager.getRewardForKill(weapon);
@@ -6,13 +6,19 @@ import com.qisumei.csgo.game.Match;
 import net.minecraft.world.entity.player.Player;
 
 import java.util.Collection;
+import java.util.UUID;
 
 public interface MatchService {
     boolean createMatch(String name, int maxPlayers, MinecraftServer server);
     Match getMatch(String name);
     Collection<Match> getAllMatches();
     Match getPlayerMatch(Player player);
+    Match getPlayerMatch(UUID playerId);
+    void indexPlayer(UUID playerId, Match match);
+    void unindexPlayer(UUID playerId, Match match);
     Match getMatchFromC4Pos(BlockPos pos);
+    void indexC4(BlockPos pos, Match match);
+    void unindexC4(BlockPos pos, Match match);
     void removeMatch(String name);
     void tick();
 }
@@ -7,6 +7,7 @@ import net.minecraft.server.MinecraftServer;
 import net.minecraft.world.entity.player.Player;
 
 import java.util.Collection;
+import java.util.UUID;
 
 /**
  * MatchService 的默认实现，当前委托给老的静态 MatchManager，以保证兼容性。
@@ -33,11 +34,36 @@ public class MatchServiceImpl implements MatchService {
         return MatchManager.getPlayerMatch(player);
     }
 
+    @Override
+    public Match getPlayerMatch(UUID playerId) {
+        return MatchManager.getPlayerMatch(playerId);
+    }
+
+    @Override
+    public void indexPlayer(UUID playerId, Match match) {
+        MatchManager.indexPlayer(playerId, match);
+    }
+
+    @Override
+    public void unindexPlayer(UUID playerId, Match match) {
+        MatchManager.unindexPlayer(playerId, match);
+    }
+
     @Override
     public Match getMatchFromC4Pos(BlockPos pos) {
         return MatchManager.getMatchFromC4Pos(pos);
     }
 
+    @Override
+    public void indexC4(BlockPos pos, Match match) {
+        MatchManager.indexC4(pos, match);
+    }
+
+    @Override
+    public void unindexC4(BlockPos pos, Match match) {
+        MatchManager.unindexC4(pos, match);
+    }
+
     @Override
     public void removeMatch(String name) {
         MatchManager.removeMatch(name);
@@ -1,5 +1,6 @@
 package com.qisumei.csgo.service;
 
+import com.qisumei.csgo.economy.KillRewardTable;
 import com.qisumei.csgo.game.EconomyManager;
 import com.qisumei.csgo.game.MatchManager;
 import net.minecraft.server.MinecraftServer;
@@ -7,6 +8,7 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.item.ItemStack;
 
 import java.util.Collection;
+import java.util.UUID;
 
 /**
  * 兼容适配器：集中处理服务优先 / 静态管理器回退的逻辑。
@@ -24,7 +26,7 @@ public final class ServiceFallbacks {
     }
 
     public static int getRewardForKill(ItemStack weapon) {
-        return EconomyManager.getRewardForKill(weapon);
+        return KillRewardTable.getReward(weapon);
     }
 
     // --- Match ---
@@ -52,12 +54,42 @@ public final class ServiceFallbacks {
         return MatchManager.getPlayerMatch(player);
     }
 
+    public static com.qisumei.csgo.game.Match getPlayerMatch(UUID playerId) {
+        MatchService ms = ServiceRegistry.get(MatchService.class);
+        if (ms != null) return ms.getPlayerMatch(playerId);
+        return MatchManager.getPlayerMatch(playerId);
+    }
+
+    public static void indexPlayer(UUID playerId, com.qisumei.csgo.game.Match match) {
+        MatchService ms = ServiceRegistry.get(MatchService.class);
+        if (ms != null) ms.indexPlayer(playerId, match);
+        else MatchManager.indexPlayer(playerId, match);
+    }
+
+    public static void unindexPlayer(UUID playerId, com.qisumei.csgo.game.Match match) {
+        MatchService ms = ServiceRegistry.get(MatchService.class);
+        if (ms != null) ms.unindexPlayer(playerId, match);
+        else MatchManager.unindexPlayer(playerId, match);
+    }
+
     public static com.qisumei.csgo.game.Match getMatchFromC4Pos(net.minecraft.core.BlockPos pos) {
         MatchService ms = ServiceRegistry.get(MatchService.class);
         if (ms != null) return ms.getMatchFromC4Pos(pos);
         return MatchManager.getMatchFromC4Pos(pos);
     }
 
+    public static void indexC4(net.minecraft.core.BlockPos pos, com.qisumei.csgo.game.Match match) {
+        MatchService ms = ServiceRegistry.get(MatchService.class);
+        if (ms != null) ms.indexC4(pos, match);
+        else MatchManager.indexC4(pos, match);
+    }
+
+    public static void unindexC4(net.minecraft.core.BlockPos pos, com.qisumei.csgo.game.Match match) {
+        MatchService ms = ServiceRegistry.get(MatchService.class);
+        if (ms != null) ms.unindexC4(pos, match);
+        else MatchManager.unindexC4(pos, match);
+    }
+
     public static void removeMatch(String name) {
         MatchService ms = ServiceRegistry.get(MatchService.class);
         if (ms != null) ms.removeMatch(name);
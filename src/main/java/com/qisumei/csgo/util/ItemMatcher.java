@@ -0,0 +1,84 @@
+package com.qisumei.csgo.util;
+
+import com.qisumei.csgo.QisCSGO;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 预编译的物品 ID 匹配器。
+ * <p>
+ * 配置中的物品字符串（如 "minecraft:diamond"、"minecraft:iron_sword[...]"）只在配置加载/重载时解析一次，
+ * 解析为 {@link Item} 的引用集合；之后每次匹配只是一次按引用的集合查询，
+ * 不再对每个背包格子、每个配置条目重复做字符串切分、{@link ResourceLocation} 解析与注册表反查。
+ * <p>
+ * 与 {@link ItemNBTHelper#idMatches(ItemStack, String)} 语义一致：只比较基础物品 ID，忽略 "{...}"/"[...]" 组件部分。
+ */
+public final class ItemMatcher {
+    /** 不匹配任何物品的空匹配器 */
+    public static final ItemMatcher EMPTY = new ItemMatcher(new ReferenceOpenHashSet<>());
+
+    private final Set<Item> items;
+
+    private ItemMatcher(Set<Item> items) {
+        this.items = items;
+    }
+
+    /**
+     * 将配置中的物品字符串列表编译为匹配器。无法识别的条目会被记录并跳过。
+     * @param entries 配置字符串列表，可以为 null
+     * @return 编译后的匹配器
+     */
+    public static ItemMatcher compile(List<String> entries) {
+        if (entries == null || entries.isEmpty()) return EMPTY;
+
+        Set<Item> items = new ReferenceOpenHashSet<>(entries.size());
+        for (String entry : entries) {
+            Item item = resolveItem(entry);
+            if (item != null) {
+                items.add(item);
+            } else {
+                QisCSGO.LOGGER.warn("配置中的物品 '{}' 无法识别，已忽略。", entry);
+            }
+        }
+        return new ItemMatcher(items);
+    }
+
+    /**
+     * @return 物品是否在匹配集合中；空物品始终返回 false
+     */
+    public boolean matches(ItemStack stack) {
+        return !stack.isEmpty() && items.contains(stack.getItem());
+    }
+
+    /**
+     * @return 匹配集合中的物品数量
+     */
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * 将配置中的物品字符串解析为物品，忽略 "{...}"/"[...]" 组件部分。
+     * @param entry 配置字符串，例如 "minecraft:iron_sword[minecraft:unbreakable={}]"
+     * @return 对应的物品；格式错误或物品未注册时返回 null
+     */
+    public static Item resolveItem(String entry) {
+        if (entry == null || entry.isEmpty()) return null;
+
+        int end = entry.length();
+        int nbtStart = entry.indexOf('{');
+        if (nbtStart != -1) end = nbtStart;
+        int componentStart = entry.indexOf('[');
+        if (componentStart != -1 && componentStart < end) end = componentStart;
+
+        ResourceLocation id = ResourceLocation.tryParse(entry.substring(0, end).trim());
+        if (id == null) return null;
+        return BuiltInRegistries.ITEM.getOptional(id).orElse(null);
+    }
+}
@@ -0,0 +1,93 @@
+package com.qisumei.csgo.util;
+
+/**
+ * 固定大小的纳秒耗时直方图，用于在服务器主线程上低开销地统计 tick 各阶段耗时。
+ * <p>
+ * 采用对数-线性分桶：每个 2 的幂区间再细分为 8 个子桶，相对误差不超过 12.5%。
+ * 桶数组在构造时一次性分配，{@link #record(long)} 不产生任何对象分配。
+ * <p>
+ * 非线程安全：记录与读取都应在服务器主线程完成（命令处理也在主线程执行）。
+ */
+public final class TickHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long totalNanos;
+    private long maxNanos;
+
+    /**
+     * 记录一次耗时样本。
+     * @param nanos 耗时（纳秒），负值按 0 处理
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        counts[indexOf(value)]++;
+        totalCount++;
+        totalNanos += value;
+        if (value > maxNanos) {
+            maxNanos = value;
+        }
+    }
+
+    /**
+     * 获取指定分位数的近似值。
+     * @param quantile 分位数，取值范围 [0, 1]（例如 0.99 表示 p99）
+     * @return 该分位所在桶的上界（不超过记录到的最大值），没有样本时返回 0
+     */
+    public long percentile(double quantile) {
+        if (totalCount == 0) return 0L;
+        double q = Math.min(1.0, Math.max(0.0, quantile));
+        long target = Math.max(1L, (long) Math.ceil(q * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(upperBoundOf(i), maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    public long getCount() { return totalCount; }
+
+    public long getMax() { return maxNanos; }
+
+    /**
+     * @return 平均耗时（纳秒），没有样本时返回 0
+     */
+    public long getMean() {
+        return totalCount == 0 ? 0L : totalNanos / totalCount;
+    }
+
+    /**
+     * 清空所有样本。
+     */
+    public void reset() {
+        java.util.Arrays.fill(counts, 0L);
+        totalCount = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int shift = msb - SUB_BUCKET_BITS;
+        int sub = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        int sub = index % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,73 @@
+package com.qisumei.csgo.weapon;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * 单个玩家在一场比赛中的购买记录。
+ * <p>
+ * 以 {@link WeaponDefinition#getOrdinal()} 为下标：{@link BitSet} 记录买过哪些武器，int 数组记录每种武器的购买次数。
+ * 购买上限检查与计数都是数组读写，不做字符串哈希；数组按注册表大小按需扩容，清空时只重置买过的下标。
+ * 未注册（序号为 -1）的定义不受限制也不会被记录。
+ * <p>
+ * 不依赖 Minecraft 类，可独立测试。
+ */
+public final class PurchaseHistory {
+    private final BitSet purchased = new BitSet();
+    private int[] counts = new int[0];
+
+    /**
+     * @return 是否已购买过该武器
+     */
+    public boolean hasPurchased(WeaponDefinition weapon) {
+        int ordinal = weapon.getOrdinal();
+        return ordinal >= 0 && purchased.get(ordinal);
+    }
+
+    /**
+     * @return 该武器的购买次数
+     */
+    public int getCount(WeaponDefinition weapon) {
+        int ordinal = weapon.getOrdinal();
+        return ordinal >= 0 && ordinal < counts.length ? counts[ordinal] : 0;
+    }
+
+    /**
+     * @return 是否已达到该武器的购买上限（上限为 0 表示不限）
+     */
+    public boolean isAtLimit(WeaponDefinition weapon) {
+        int limit = weapon.getPurchaseLimit();
+        return limit > 0 && getCount(weapon) >= limit;
+    }
+
+    /**
+     * 记录一次购买。
+     * @return 记录后的购买次数
+     */
+    public int record(WeaponDefinition weapon) {
+        int ordinal = weapon.getOrdinal();
+        if (ordinal < 0) return 0;
+        if (ordinal >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(ordinal + 1, WeaponRegistry.getWeaponCount()));
+        }
+        purchased.set(ordinal);
+        return ++counts[ordinal];
+    }
+
+    /**
+     * @return 买过的不同武器数量
+     */
+    public int getDistinctCount() {
+        return purchased.cardinality();
+    }
+
+    /**
+     * 清空购买记录（用于新比赛）。
+     */
+    public void clear() {
+        for (int i = purchased.nextSetBit(0); i >= 0; i = purchased.nextSetBit(i + 1)) {
+            counts[i] = 0;
+        }
+        purchased.clear();
+    }
+}
@@ -1,5 +1,7 @@
 package com.qisumei.csgo.weapon;
 
+import com.qisumei.csgo.game.Team;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -19,6 +21,8 @@ public class WeaponDefinition {
     private final List<WeaponAttachment> defaultAttachments; // 默认附件
     private final boolean availableForCT;    // CT队是否可用
     private final boolean availableForT;     // T队是否可用
+    private final int purchaseLimit;         // 每场比赛的购买上限，0 表示不限
+    private int ordinal = -1;                // 注册表分配的稠密序号，未注册时为 -1
 
     private WeaponDefinition(Builder builder) {
         this.weaponId = builder.weaponId;
@@ -31,6 +35,7 @@ public class WeaponDefinition {
         this.defaultAttachments = new ArrayList<>(builder.defaultAttachments);
         this.availableForCT = builder.availableForCT;
         this.availableForT = builder.availableForT;
+        this.purchaseLimit = builder.purchaseLimit;
     }
 
     // Getters
@@ -74,15 +79,41 @@ public class WeaponDefinition {
         return availableForT;
     }
 
-    public boolean isAvailableForTeam(String team) {
-        if ("CT".equalsIgnoreCase(team)) {
+    /**
+     * 每场比赛的购买上限，0 表示不限。
+     */
+    public int getPurchaseLimit() {
+        return purchaseLimit;
+    }
+
+    /**
+     * 注册表分配的稠密序号（0 起连续，与 {@link WeaponRegistry#getAllWeapons()} 中的位置一致），
+     * 可直接作为按武器统计的数组/位集下标；未注册的定义返回 -1。
+     */
+    public int getOrdinal() {
+        return ordinal;
+    }
+
+    void assignOrdinal(int ordinal) {
+        this.ordinal = ordinal;
+    }
+
+    public boolean isAvailableFor(Team team) {
+        if (team == Team.CT) {
             return availableForCT;
-        } else if ("T".equalsIgnoreCase(team)) {
+        } else if (team == Team.T) {
             return availableForT;
         }
         return false;
     }
 
+    /**
+     * 按队伍 ID（忽略大小写）判断武器是否可用，无法识别的 ID 返回 false。
+     */
+    public boolean isAvailableForTeam(String team) {
+        return isAvailableFor(Team.fromId(team));
+    }
+
     /**
      * 获取默认瞄准镜附件（如果有）
      */
@@ -107,6 +138,7 @@ public class WeaponDefinition {
         private final List<WeaponAttachment> defaultAttachments = new ArrayList<>();
         private boolean availableForCT = true;
         private boolean availableForT = true;
+        private int purchaseLimit;
 
         public Builder(String weaponId, String displayName, WeaponType type) {
             this.weaponId = weaponId;
@@ -114,6 +146,8 @@ public class WeaponDefinition {
             this.type = type;
             this.killReward = type.getDefaultKillReward();
             this.price = type.getDefaultPrice();
+            // 投掷物默认每场比赛只能购买一次
+            this.purchaseLimit = type == WeaponType.GRENADE ? 1 : 0;
         }
 
         public Builder price(int price) {
@@ -136,6 +170,14 @@ public class WeaponDefinition {
             return this;
         }
 
+        /**
+         * 每场比赛的购买上限，0 表示不限
+         */
+        public Builder purchaseLimit(int limit) {
+            this.purchaseLimit = Math.max(0, limit);
+            return this;
+        }
+
         public Builder addAttachment(WeaponAttachment attachment) {
             this.defaultAttachments.add(attachment);
             return this;
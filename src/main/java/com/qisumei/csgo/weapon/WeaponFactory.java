@@ -2,17 +2,15 @@ package com.qisumei.csgo.weapon;
 
 import com.qisumei.csgo.QisCSGO;
 import net.minecraft.core.component.DataComponents;
-import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.Items;
 import net.minecraft.world.item.component.CustomData;
 
 /**
  * 武器工厂类 - 负责根据武器定义创建实际的 Minecraft 物品
  * 这个类封装了 TaCZ 武器的创建逻辑
+ * 武器与弹药的物品引用来自 {@link WeaponItemIndex}，不再每次解析物品 ID
  */
 public class WeaponFactory {
 
@@ -25,10 +23,11 @@ public class WeaponFactory {
     public static ItemStack createWeapon(WeaponDefinition definition) {
         try {
             // 创建基础武器物品
-            ItemStack weapon = createBaseItem(definition.getWeaponId());
-            if (weapon.isEmpty()) {
+            Item item = WeaponItemIndex.getItem(definition);
+            if (item == null) {
                 return ItemStack.EMPTY;
             }
+            ItemStack weapon = new ItemStack(item);
 
             // 附加默认附件
             weapon = attachDefaultAttachments(weapon, definition);
@@ -40,24 +39,6 @@ public class WeaponFactory {
         }
     }
 
-    /**
-     * 创建基础物品
-     */
-    private static ItemStack createBaseItem(String itemId) {
-        try {
-            ResourceLocation id = ResourceLocation.tryParse(itemId);
-            if (id == null) return ItemStack.EMPTY;
-            
-            Item item = BuiltInRegistries.ITEM.get(id);
-            if (item == null || item == Items.AIR) return ItemStack.EMPTY;
-            
-            return new ItemStack(item);
-        } catch (Exception e) {
-            QisCSGO.LOGGER.error("解析物品ID失败: {}", itemId, e);
-            return ItemStack.EMPTY;
-        }
-    }
-
     /**
      * 为武器附加默认附件
      */
@@ -106,11 +87,11 @@ public class WeaponFactory {
         }
 
         try {
-            ItemStack ammo = createBaseItem(ammoType.getItemId());
-            if (!ammo.isEmpty()) {
-                ammo.setCount(Math.min(amount, 64));
+            Item item = WeaponItemIndex.getAmmoItem(ammoType);
+            if (item == null) {
+                return ItemStack.EMPTY;
             }
-            return ammo;
+            return new ItemStack(item, Math.min(amount, 64));
         } catch (Exception e) {
             QisCSGO.LOGGER.error("创建弹药失败: {}", ammoType.getItemId(), e);
             return ItemStack.EMPTY;
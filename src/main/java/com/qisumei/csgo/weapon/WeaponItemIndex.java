@@ -0,0 +1,63 @@
+package com.qisumei.csgo.weapon;
+
+import com.qisumei.csgo.util.ItemMatcher;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.Items;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * {@link WeaponRegistry} 的物品解析缓存：武器定义/弹药类型 -> {@link Item}。
+ * <p>
+ * 武器注册表以字符串 ID 为键且不依赖 Minecraft 类；这里把每个武器定义与弹药类型的 ID 解析为 {@link Item} 引用并缓存，
+ * 使击杀奖励、商店发放与弹药发放不再每次解析 {@code ResourceLocation} 并反查物品注册表。
+ * 索引在 {@link WeaponRegistry#getVersion()} 变化后的第一次查询时重建。只能在服务器主线程使用。
+ */
+public final class WeaponItemIndex {
+    private static Map<WeaponDefinition, Item> itemsByDefinition;
+    private static int builtForVersion = -1;
+
+    private static final Map<AmmoType, Item> AMMO_ITEMS = new EnumMap<>(AmmoType.class);
+
+    private WeaponItemIndex() {
+    }
+
+    /**
+     * @return 武器定义对应的物品；ID 无法解析时返回 null
+     */
+    public static Item getItem(WeaponDefinition definition) {
+        ensureBuilt();
+        return itemsByDefinition.get(definition);
+    }
+
+    /**
+     * @return 弹药类型对应的物品；没有弹药或 ID 无法解析时返回 null
+     */
+    public static Item getAmmoItem(AmmoType ammoType) {
+        if (!ammoType.hasAmmo()) return null;
+        Item item = AMMO_ITEMS.get(ammoType);
+        if (item == null) {
+            Item resolved = ItemMatcher.resolveItem(ammoType.getItemId());
+            item = resolved != null ? resolved : Items.AIR;
+            AMMO_ITEMS.put(ammoType, item);
+        }
+        return item != Items.AIR ? item : null;
+    }
+
+    private static void ensureBuilt() {
+        int version = WeaponRegistry.getVersion();
+        if (itemsByDefinition != null && builtForVersion == version) return;
+
+        Map<WeaponDefinition, Item> byDefinition = new Reference2ObjectOpenHashMap<>();
+        for (WeaponDefinition definition : WeaponRegistry.getAllWeapons()) {
+            Item item = ItemMatcher.resolveItem(definition.getWeaponId());
+            if (item == null || item == Items.AIR) continue;
+            byDefinition.put(definition, item);
+        }
+
+        itemsByDefinition = byDefinition;
+        builtForVersion = version;
+    }
+}
@@ -1,21 +1,67 @@
 package com.qisumei.csgo.weapon;
 
+import com.qisumei.csgo.game.Team;
+
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * 武器注册表 - 管理所有武器定义
  * 这个类是武器系统的核心，集中管理所有武器的定义和注册
+ * <p>
+ * 按类型、按队伍、按类型×队伍的查询结果是预先计算好的只读视图：注册表变化后在下一次查询时重建一次
+ * （{@link #initialize()} 结束时立即构建），之后的查询只是一次 EnumMap/数组读取，不再每次流式过滤并分配新列表。
+ * 返回的列表不可修改。
  */
 public class WeaponRegistry {
     private static final Map<String, WeaponDefinition> WEAPONS = new LinkedHashMap<>();
     private static boolean initialized = false;
+    // 注册表内容每次变化时递增，供派生的缓存（如击杀奖励表）判断是否需要重建
+    private static int version = 0;
+    // 预计算的只读视图，version 不一致时重建
+    private static Views views;
 
     /**
-     * 注册一个武器定义
+     * 某一版本注册表的只读视图。按队伍的列表以 {@link Team#ordinal()} 为下标。
+     */
+    private record Views(
+        int version,
+        List<WeaponDefinition> all,
+        Map<WeaponType, List<WeaponDefinition>> byType,
+        List<List<WeaponDefinition>> byTeam,
+        Map<WeaponType, List<List<WeaponDefinition>>> byTypeAndTeam
+    ) { }
+
+    /**
+     * 注册一个武器定义，并为其分配稠密序号。
+     * 覆盖已注册的 ID 时沿用原定义的序号与位置。
      */
     public static void register(WeaponDefinition definition) {
+        WeaponDefinition previous = WEAPONS.get(definition.getWeaponId());
+        definition.assignOrdinal(previous != null ? previous.getOrdinal() : WEAPONS.size());
         WEAPONS.put(definition.getWeaponId(), definition);
+        version++;
+    }
+
+    /**
+     * 获取注册表版本号，注册或清空武器时递增
+     */
+    public static int getVersion() {
+        return version;
+    }
+
+    /**
+     * 已注册武器的数量，即序号的上界（不含）
+     */
+    public static int getWeaponCount() {
+        return WEAPONS.size();
+    }
+
+    /**
+     * 根据稠密序号获取武器定义
+     * @throws IndexOutOfBoundsException 序号不在 [0, getWeaponCount()) 范围内
+     */
+    public static WeaponDefinition getWeaponByOrdinal(int ordinal) {
+        return views().all().get(ordinal);
     }
 
     /**
@@ -26,37 +72,47 @@ public class WeaponRegistry {
     }
 
     /**
-     * 获取所有武器定义
+     * 获取所有武器定义（按注册顺序，只读）
      */
     public static Collection<WeaponDefinition> getAllWeapons() {
-        return new ArrayList<>(WEAPONS.values());
+        return views().all();
     }
 
     /**
-     * 根据武器类型获取所有武器
+     * 根据武器类型获取所有武器（只读）
      */
     public static List<WeaponDefinition> getWeaponsByType(WeaponType type) {
-        return WEAPONS.values().stream()
-            .filter(w -> w.getType() == type)
-            .collect(Collectors.toList());
+        return views().byType().get(type);
+    }
+
+    /**
+     * 获取指定队伍可用的所有武器（只读）
+     */
+    public static List<WeaponDefinition> getWeaponsForTeam(Team team) {
+        if (team == null) return List.of();
+        return views().byTeam().get(team.ordinal());
     }
 
     /**
-     * 获取指定队伍可用的所有武器
+     * 获取指定队伍可用的所有武器（按队伍 ID）
      */
     public static List<WeaponDefinition> getWeaponsForTeam(String team) {
-        return WEAPONS.values().stream()
-            .filter(w -> w.isAvailableForTeam(team))
-            .collect(Collectors.toList());
+        return getWeaponsForTeam(Team.fromId(team));
     }
 
     /**
-     * 获取指定队伍和类型的武器
+     * 获取指定队伍和类型的武器（只读）
+     */
+    public static List<WeaponDefinition> getWeaponsByTypeAndTeam(WeaponType type, Team team) {
+        if (team == null) return List.of();
+        return views().byTypeAndTeam().get(type).get(team.ordinal());
+    }
+
+    /**
+     * 获取指定队伍和类型的武器（按队伍 ID）
      */
     public static List<WeaponDefinition> getWeaponsByTypeAndTeam(WeaponType type, String team) {
-        return WEAPONS.values().stream()
-            .filter(w -> w.getType() == type && w.isAvailableForTeam(team))
-            .collect(Collectors.toList());
+        return getWeaponsByTypeAndTeam(type, Team.fromId(team));
     }
 
     /**
@@ -84,6 +140,45 @@ public class WeaponRegistry {
         registerArmor();
 
         initialized = true;
+        views();
+    }
+
+    private static Views views() {
+        Views current = views;
+        if (current == null || current.version() != version) {
+            current = buildViews();
+            views = current;
+        }
+        return current;
+    }
+
+    private static Views buildViews() {
+        List<WeaponDefinition> all = List.copyOf(WEAPONS.values());
+
+        Map<WeaponType, List<WeaponDefinition>> byType = new EnumMap<>(WeaponType.class);
+        Map<WeaponType, List<List<WeaponDefinition>>> byTypeAndTeam = new EnumMap<>(WeaponType.class);
+        for (WeaponType type : WeaponType.values()) {
+            List<WeaponDefinition> ofType = all.stream().filter(w -> w.getType() == type).toList();
+            byType.put(type, ofType);
+            List<List<WeaponDefinition>> perTeam = new ArrayList<>(Team.COUNT);
+            for (Team team : Team.values()) {
+                perTeam.add(ofType.stream().filter(w -> w.isAvailableFor(team)).toList());
+            }
+            byTypeAndTeam.put(type, List.copyOf(perTeam));
+        }
+
+        List<List<WeaponDefinition>> byTeam = new ArrayList<>(Team.COUNT);
+        for (Team team : Team.values()) {
+            byTeam.add(all.stream().filter(w -> w.isAvailableFor(team)).toList());
+        }
+
+        return new Views(
+            version,
+            all,
+            Collections.unmodifiableMap(byType),
+            List.copyOf(byTeam),
+            Collections.unmodifiableMap(byTypeAndTeam)
+        );
     }
 
     /**
@@ -241,5 +336,6 @@ public class WeaponRegistry {
     public static void clear() {
         WEAPONS.clear();
         initialized = false;
+        version++;
     }
 }
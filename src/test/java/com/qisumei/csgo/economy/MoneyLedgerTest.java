@@ -0,0 +1,167 @@
+package com.qisumei.csgo.economy;
+
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MoneyLedger 测试类
+ * 测试余额账本的读写、上限截断、原子扣款与多笔交易（纯Java类，无Minecraft依赖）
+ */
+@DisplayName("MoneyLedger Tests")
+class MoneyLedgerTest {
+
+    private static final int MAX = 65535;
+
+    private MoneyLedger ledger;
+    private UUID player;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new MoneyLedger(MAX);
+        player = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("不存在的玩家余额应该为0")
+    void testUnknownPlayerHasZero() {
+        assertEquals(0, ledger.get(player));
+        assertEquals(0, ledger.size(), "读取不应该创建账户");
+    }
+
+    @Test
+    @DisplayName("set应该把余额限制在0到上限之间")
+    void testSetClamps() {
+        ledger.set(player, -100);
+        assertEquals(0, ledger.get(player));
+
+        ledger.set(player, MAX + 1000);
+        assertEquals(MAX, ledger.get(player));
+    }
+
+    @Test
+    @DisplayName("credit应该增加余额并在上限处截断")
+    void testCreditCapsAtMax() {
+        assertEquals(800, ledger.credit(player, 800));
+        assertEquals(800, ledger.credit(player, 0), "非正数不应该修改余额");
+
+        ledger.set(player, MAX - 10);
+        assertEquals(MAX, ledger.credit(player, Integer.MAX_VALUE), "不应该发生整数溢出");
+    }
+
+    @Test
+    @DisplayName("余额不足时tryDebit应该失败且不修改余额")
+    void testTryDebit() {
+        ledger.set(player, 500);
+
+        assertTrue(ledger.tryDebit(player, 300));
+        assertEquals(200, ledger.get(player));
+
+        assertFalse(ledger.tryDebit(player, 300));
+        assertEquals(200, ledger.get(player));
+
+        assertFalse(ledger.tryDebit(UUID.randomUUID(), 1), "不存在的玩家无法扣款");
+    }
+
+    @Test
+    @DisplayName("tryDebitAll应该全部扣除或一笔都不扣")
+    void testTryDebitAll() {
+        ledger.set(player, 1000);
+
+        assertFalse(ledger.tryDebitAll(player, 700, 400));
+        assertEquals(1000, ledger.get(player));
+
+        assertTrue(ledger.tryDebitAll(player, 700, 200, 0, -50));
+        assertEquals(100, ledger.get(player));
+    }
+
+    @Test
+    @DisplayName("transaction返回负数时应该被拒绝")
+    void testTransaction() {
+        ledger.set(player, 100);
+
+        assertEquals(MoneyLedger.REJECTED, ledger.transaction(player, balance -> balance - 150));
+        assertEquals(100, ledger.get(player));
+
+        assertEquals(50, ledger.transaction(player, balance -> balance - 50));
+        assertEquals(MAX, ledger.transaction(player, balance -> balance + MAX), "结果应该被限制在上限内");
+    }
+
+    @Test
+    @DisplayName("setAll应该为所有玩家设置相同余额")
+    void testSetAll() {
+        UUID other = UUID.randomUUID();
+        ledger.setAll(List.of(player, other), 800);
+
+        assertEquals(800, ledger.get(player));
+        assertEquals(800, ledger.get(other));
+    }
+
+    @Test
+    @DisplayName("creditAll应该按下标为每名玩家入账并返回余额")
+    void testCreditAll() {
+        UUID other = UUID.randomUUID();
+        ledger.set(player, 100);
+
+        int[] balances = ledger.creditAll(new UUID[]{player, other}, new int[]{50, 3000});
+        assertArrayEquals(new int[]{150, 3000}, balances);
+        assertEquals(3000, ledger.get(other));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> ledger.creditAll(new UUID[]{player}, new int[0]));
+    }
+
+    @Test
+    @DisplayName("remove和clear应该删除账户")
+    void testRemoveAndClear() {
+        ledger.set(player, 100);
+        ledger.remove(player);
+        assertEquals(0, ledger.get(player));
+
+        ledger.set(player, 100);
+        ledger.set(UUID.randomUUID(), 100);
+        ledger.clear();
+        assertEquals(0, ledger.size());
+    }
+
+    @Test
+    @DisplayName("负数上限应该抛出异常")
+    void testNegativeMaxRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new MoneyLedger(-1));
+    }
+
+    @Test
+    @DisplayName("并发扣款不应该重复消费")
+    void testConcurrentDebitNoDoubleSpend() throws InterruptedException {
+        ledger.set(player, 1000);
+        int threads = 8;
+        int attemptsPerThread = 100;
+        AtomicInteger successes = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (ledger.tryDebit(player, 10)) successes.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, successes.get(), "1000 的余额只能成功扣款 100 次");
+        assertEquals(0, ledger.get(player));
+    }
+}
@@ -64,10 +64,10 @@ class MatchPlayerServiceTest {
      *    - 测试空背包的情况
      *    - 测试全部为保护物品的情况
      * 
-     * 2. giveInitialGear(ServerPlayer player, String team)
+     * 2. giveInitialGear(ServerPlayer player, Team team)
      *    - 测试CT队伍是否获得正确的手枪局装备（ServerConfig.ctPistolRoundGear）
      *    - 测试T队伍是否获得正确的手枪局装备（ServerConfig.tPistolRoundGear）
-     *    - 测试是否正确调用CommandExecutor执行give命令
+     *    - 测试是否为每件装备调用CommandExecutor.giveItem()
      *    - 测试无效队伍名称的处理
      * 
      * 3. capturePlayerGear(ServerPlayer player)
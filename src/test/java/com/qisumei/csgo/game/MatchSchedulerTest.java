@@ -0,0 +1,151 @@
+package com.qisumei.csgo.game;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MatchScheduler 测试类
+ * 测试时间轮的一次性任务、周期任务、取消与跨圈到期（纯Java类，无Minecraft依赖）
+ */
+@DisplayName("MatchScheduler Tests")
+class MatchSchedulerTest {
+
+    private MatchScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new MatchScheduler();
+    }
+
+    private void advance(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            scheduler.tick();
+        }
+    }
+
+    @Test
+    @DisplayName("一次性任务应该恰好在延迟到期的那个tick执行")
+    void testOneShotFiresOnDeadline() {
+        AtomicInteger runs = new AtomicInteger();
+        MatchScheduler.Task task = scheduler.schedule(3, runs::incrementAndGet);
+
+        assertEquals(3, task.getTicksRemaining());
+        advance(2);
+        assertEquals(0, runs.get(), "未到期前不应该执行");
+        assertEquals(1, task.getTicksRemaining());
+        advance(1);
+        assertEquals(1, runs.get(), "到期时应该执行一次");
+        assertFalse(task.isActive());
+        advance(100);
+        assertEquals(1, runs.get(), "一次性任务不应该重复执行");
+    }
+
+    @Test
+    @DisplayName("超过时间轮大小的延迟应该在正确的圈数后执行")
+    void testLongDelayWrapsWheel() {
+        AtomicInteger firedAt = new AtomicInteger(-1);
+        scheduler.schedule(800, () -> firedAt.set((int) scheduler.getCurrentTick()));
+
+        advance(799);
+        assertEquals(-1, firedAt.get());
+        advance(1);
+        assertEquals(800, firedAt.get());
+    }
+
+    @Test
+    @DisplayName("周期任务应该按周期重复执行")
+    void testRepeatingTask() {
+        AtomicInteger runs = new AtomicInteger();
+        scheduler.scheduleRepeating(5, 5, runs::incrementAndGet);
+
+        advance(20);
+        assertEquals(4, runs.get());
+    }
+
+    @Test
+    @DisplayName("周期为时间轮大小整数倍的任务不应该在同一tick重复执行")
+    void testRepeatingTaskWithWheelSizedPeriod() {
+        AtomicInteger runs = new AtomicInteger();
+        scheduler.scheduleRepeating(64, 64, runs::incrementAndGet);
+
+        advance(64);
+        assertEquals(1, runs.get());
+        advance(64);
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    @DisplayName("取消的任务不应该执行")
+    void testCancel() {
+        AtomicInteger runs = new AtomicInteger();
+        MatchScheduler.Task task = scheduler.schedule(2, runs::incrementAndGet);
+        task.cancel();
+
+        advance(5);
+        assertEquals(0, runs.get());
+        assertEquals(0, task.getTicksRemaining());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("任务可以在执行时取消同一tick内后续的任务")
+    void testCancelLaterTaskInSameTick() {
+        List<String> order = new ArrayList<>();
+        MatchScheduler.Task[] second = new MatchScheduler.Task[1];
+        scheduler.schedule(1, () -> {
+            order.add("first");
+            second[0].cancel();
+        });
+        second[0] = scheduler.schedule(1, () -> order.add("second"));
+
+        advance(1);
+        assertEquals(List.of("first"), order);
+    }
+
+    @Test
+    @DisplayName("同一tick到期的任务应该按安排顺序执行")
+    void testFifoOrder() {
+        List<Integer> order = new ArrayList<>();
+        scheduler.schedule(2, () -> order.add(1));
+        scheduler.schedule(2, () -> order.add(2));
+        scheduler.schedule(2, () -> order.add(3));
+
+        advance(2);
+        assertEquals(List.of(1, 2, 3), order);
+    }
+
+    @Test
+    @DisplayName("cancelAll 应该取消所有任务，包括当前tick中尚未执行的任务")
+    void testCancelAll() {
+        AtomicInteger runs = new AtomicInteger();
+        scheduler.schedule(1, scheduler::cancelAll);
+        scheduler.schedule(1, runs::incrementAndGet);
+        scheduler.scheduleRepeating(3, 3, runs::incrementAndGet);
+
+        advance(10);
+        assertEquals(0, runs.get());
+        assertEquals(0, scheduler.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("任务抛出异常不应该影响同一tick的其他任务")
+    void testExceptionIsolation() {
+        AtomicInteger runs = new AtomicInteger();
+        scheduler.schedule(1, () -> { throw new IllegalStateException("boom"); });
+        scheduler.schedule(1, runs::incrementAndGet);
+
+        assertThrows(IllegalStateException.class, scheduler::tick);
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    @DisplayName("非正数周期应该被拒绝")
+    void testInvalidPeriod() {
+        assertThrows(IllegalArgumentException.class, () -> scheduler.scheduleRepeating(1, 0, () -> { }));
+    }
+}
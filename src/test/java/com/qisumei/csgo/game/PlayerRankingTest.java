@@ -0,0 +1,99 @@
+package com.qisumei.csgo.game;
+
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PlayerRanking 测试类
+ * 测试排名的排序规则、增量更新、移除与前K名截取（纯Java类，无Minecraft依赖）
+ */
+@DisplayName("PlayerRanking Tests")
+class PlayerRankingTest {
+
+    private PlayerRanking ranking;
+
+    @BeforeEach
+    void setUp() {
+        ranking = new PlayerRanking();
+    }
+
+    @Test
+    @DisplayName("应该按击杀数降序、死亡数升序排列")
+    void testOrdering() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        ranking.update(a, 3, 5);
+        ranking.update(b, 7, 2);
+        ranking.update(c, 3, 1);
+
+        List<PlayerRanking.Entry> top = ranking.top(3);
+        assertEquals(b, top.get(0).playerId());
+        assertEquals(c, top.get(1).playerId(), "击杀相同时死亡少的排前面");
+        assertEquals(a, top.get(2).playerId());
+    }
+
+    @Test
+    @DisplayName("更新击杀数后排名应该随之变化")
+    void testUpdateReorders() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        ranking.update(a, 1, 0);
+        ranking.update(b, 2, 0);
+        assertEquals(b, ranking.top(1).get(0).playerId());
+
+        ranking.update(a, 3, 0);
+        assertEquals(a, ranking.top(1).get(0).playerId());
+        assertEquals(2, ranking.size(), "更新不应该产生重复条目");
+    }
+
+    @Test
+    @DisplayName("数值未变化时update应该返回false")
+    void testUnchangedUpdate() {
+        UUID a = UUID.randomUUID();
+        assertTrue(ranking.update(a, 1, 1));
+        assertFalse(ranking.update(a, 1, 1));
+        assertTrue(ranking.update(a, 1, 2));
+    }
+
+    @Test
+    @DisplayName("移除玩家后不应再出现在排名中")
+    void testRemove() {
+        UUID a = UUID.randomUUID();
+        ranking.update(a, 5, 0);
+
+        assertTrue(ranking.remove(a));
+        assertFalse(ranking.remove(a), "重复移除应该返回false");
+        assertNull(ranking.get(a));
+        assertTrue(ranking.top(10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("top(k)应该只返回前k名，人数不足时返回全部")
+    void testTopLimit() {
+        for (int i = 0; i < 20; i++) {
+            ranking.update(UUID.randomUUID(), i, 0);
+        }
+
+        List<PlayerRanking.Entry> top = ranking.top(15);
+        assertEquals(15, top.size());
+        assertEquals(19, top.get(0).kills());
+        assertEquals(5, top.get(14).kills());
+        assertEquals(20, ranking.top(50).size());
+    }
+
+    @Test
+    @DisplayName("clear应该清空所有条目")
+    void testClear() {
+        ranking.update(UUID.randomUUID(), 1, 0);
+        ranking.update(UUID.randomUUID(), 2, 0);
+        ranking.clear();
+
+        assertEquals(0, ranking.size());
+        assertTrue(ranking.top(5).isEmpty());
+    }
+}
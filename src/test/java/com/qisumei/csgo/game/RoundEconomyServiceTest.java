@@ -55,11 +55,11 @@ class RoundEconomyServiceTest {
      * 以下功能需要在实际Minecraft环境中测试：
      * 
      * 1. distributePistolRoundMoney(ServerPlayer player)
-     *    - 测试是否调用 economyService.setMoney() 设置正确的起始金额
+     *    - 测试是否调用 economyService.setMoneyAll() 设置正确的起始金额
      *    - 测试是否向玩家发送正确的系统消息
      *    - 测试金额是否来自 ServerConfig.pistolRoundStartingMoney
      * 
-     * 2. distributeRoundIncome(ServerPlayer player, PlayerStats stats, String lastRoundWinner)
+     * 2. distributeRoundIncome(ServerPlayer player, PlayerStats stats, Team lastRoundWinner)
      *    - 测试胜利方收入计算（ServerConfig.winReward）
      *    - 测试失败方基础收入（ServerConfig.lossReward）
      *    - 测试连败奖励计算逻辑：
@@ -67,11 +67,12 @@ class RoundEconomyServiceTest {
      *      * 连败2次：lossReward + 2 * lossStreakBonus
      *      * 达到上限：lossReward + maxLossStreakBonus
      *    - 测试是否正确识别玩家队伍与胜利队伍匹配
-     *    - 测试是否调用 economyService.giveMoney() 分配正确金额
-     *    - 测试是否发送正确的提示消息
+     *    - 测试是否通过 economyService.creditAll() 一次性分配正确金额
+     *    - 测试每名玩家是否只收到一条包含收入与余额的提示消息
+     *    - 测试批量版本 distributeRoundIncome(ServerPlayer[], PlayerStats[], Team) 的下标对应关系
      * 
-     * 3. distributeWinReward(ServerPlayer player)
-     *    - 测试是否调用 economyService.giveMoney() 分配胜利奖励
+     * 3. distributeWinReward(ServerPlayer player) / distributeWinReward(ServerPlayer[] players)
+     *    - 测试是否调用 economyService.creditAll() 分配胜利奖励
      *    - 测试奖励金额是否为 ServerConfig.winReward
      *    - 测试是否发送正确的提示消息
      * 
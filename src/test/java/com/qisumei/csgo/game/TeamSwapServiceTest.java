@@ -54,14 +54,14 @@ class TeamSwapServiceTest {
      * 
      * 以下功能需要在实际Minecraft环境中测试：
      * 
-     * 1. updatePlayerTeam(ServerPlayer player, String newTeam, String newTeamName)
-     *    - 测试是否正确调用 commandExecutor.executeGlobal("team leave ...")
-     *    - 测试是否正确调用 commandExecutor.executeGlobal("team join ...")
+     * 1. updatePlayerTeam(ServerPlayer player, Team newTeam, String newTeamName)
+     *    - 测试是否正确调用 commandExecutor.leaveTeam(player)
+     *    - 测试是否正确调用 commandExecutor.joinTeam(player, newTeamName)
      *    - 测试是否调用 playerService.performSelectiveClear(player)
      *    - 测试CT队伍消息显示 "反恐精英 (CT)"
      *    - 测试T队伍消息显示 "恐怖分子 (T)"
      *    - 测试是否向玩家发送系统消息
-     *    - 测试newTeam为"CT"和"T"的情况
+     *    - 测试newTeam为Team.CT和Team.T的情况
      *    - 测试无效队伍名称的处理
      * 
      * 2. updatePlayersTeam(Map<UUID, ServerPlayer> players, Map<UUID, PlayerStats> statsMap, 
@@ -0,0 +1,112 @@
+package com.qisumei.csgo.game;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * VoxelSnapshot 测试类
+ * 测试体素快照的采集、越界处理与 DDA 射线检测（纯Java类，无Minecraft依赖）
+ */
+@DisplayName("VoxelSnapshot Tests")
+class VoxelSnapshotTest {
+
+    // 区域 [-8, 8]^3，x = 2 处有一堵墙，y = -1 处是地面
+    private VoxelSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = VoxelSnapshot.capture(-8, -8, -8, 8, 8, 8, (x, y, z) -> x == 2 || y == -1);
+    }
+
+    @Test
+    @DisplayName("应该记录每个体素的实心度")
+    void testIsSolid() {
+        assertTrue(snapshot.isSolid(2, 5, -3));
+        assertTrue(snapshot.isSolid(-6, -1, 7));
+        assertFalse(snapshot.isSolid(0, 0, 0));
+        assertEquals(17 * 17 * 2 - 17, snapshot.countSolid(), "墙与地面相交的一行只计一次");
+    }
+
+    @Test
+    @DisplayName("网格之外应该视为非实心")
+    void testOutsideIsEmpty() {
+        assertFalse(snapshot.contains(9, 0, 0));
+        assertFalse(snapshot.isSolid(2, 20, 0));
+        assertTrue(snapshot.contains(-8, -8, -8));
+    }
+
+    @Test
+    @DisplayName("穿过墙的射线应该在进入墙体时命中")
+    void testRaycastHitsWall() {
+        double t = snapshot.raycast(0.5, 0.5, 0.5, 4.5, 0.5, 0.5);
+        assertEquals(0.375, t, 1e-9, "应该在 x = 2 处命中");
+        assertFalse(snapshot.hasLineOfSight(0.5, 0.5, 0.5, 4.5, 0.5, 0.5));
+    }
+
+    @Test
+    @DisplayName("没有遮挡的射线应该返回MISS")
+    void testRaycastClear() {
+        assertEquals(VoxelSnapshot.MISS, snapshot.raycast(0.5, 0.5, 0.5, -5.5, 3.5, 6.5));
+        assertTrue(snapshot.hasLineOfSight(1.5, 5.5, -7.5, 1.5, 0.5, 7.5));
+    }
+
+    @Test
+    @DisplayName("终点在墙前时不应该命中")
+    void testRaycastStopsAtEnd() {
+        assertTrue(snapshot.hasLineOfSight(-3.5, 0.5, 0.5, 1.9, 0.5, 0.5));
+        assertEquals(0.0, snapshot.raycast(2.5, 0.5, 0.5, 0.5, 0.5, 0.5), "起点在实心体素内时应该立即命中");
+    }
+
+    @Test
+    @DisplayName("斜向下的射线应该命中地面")
+    void testRaycastDiagonalHitsFloor() {
+        double t = snapshot.raycast(-4.5, 2.5, -4.5, -1.5, -2.5, -1.5);
+        assertTrue(t > 0.0 && t <= 1.0);
+        double y = 2.5 + (-5.0) * t;
+        assertEquals(0.0, y, 1e-9, "应该在 y = 0 的平面进入地面体素");
+    }
+
+    @Test
+    @DisplayName("构建器应该忽略网格外的坐标且build后不能再写入")
+    void testBuilder() {
+        VoxelSnapshot.Builder builder = VoxelSnapshot.builder(0, 0, 0, 3, 3, 3);
+        builder.setSolid(1, 2, 3);
+        builder.setSolid(10, 0, 0);
+        VoxelSnapshot built = builder.build();
+
+        assertTrue(built.isSolid(1, 2, 3));
+        assertEquals(1, built.countSolid());
+        assertThrows(IllegalStateException.class, () -> builder.setSolid(0, 0, 0));
+    }
+
+    @Test
+    @DisplayName("未知区块段应该按实心处理并遮挡视线")
+    void testUnknownSectionBlocksLineOfSight() {
+        assertTrue(snapshot.isComplete());
+
+        VoxelSnapshot.Builder builder = VoxelSnapshot.builder(-8, 0, 0, 40, 15, 15);
+        builder.markUnknownSection(1, 0, 0);
+        builder.markUnknownSection(9, 0, 0);
+        VoxelSnapshot partial = builder.build();
+
+        assertFalse(partial.isComplete());
+        assertTrue(partial.isUnknown(16, 3, 3));
+        assertTrue(partial.isSolid(31, 15, 15), "未知区块段内的方块应该视为实心");
+        assertFalse(partial.isUnknown(32, 3, 3));
+        assertFalse(partial.isSolid(-8, 3, 3));
+        assertEquals(0, partial.countSolid());
+        assertFalse(partial.hasLineOfSight(0.5, 5.5, 5.5, 35.5, 5.5, 5.5), "穿过未知区块段的视线应该被遮挡");
+        assertEquals(15.5 / 35.0, partial.raycast(0.5, 5.5, 5.5, 35.5, 5.5, 5.5), 1e-9);
+        assertTrue(partial.hasLineOfSight(32.5, 5.5, 5.5, 40.5, 5.5, 5.5));
+    }
+
+    @Test
+    @DisplayName("过大或为空的区域应该抛出异常")
+    void testInvalidRegion() {
+        assertThrows(IllegalArgumentException.class,
+            () -> VoxelSnapshot.capture(0, 0, 0, -1, 0, 0, (x, y, z) -> false));
+        assertThrows(IllegalArgumentException.class,
+            () -> VoxelSnapshot.capture(0, 0, 0, 4096, 255, 4096, (x, y, z) -> false));
+    }
+}
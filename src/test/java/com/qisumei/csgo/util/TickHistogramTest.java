@@ -0,0 +1,92 @@
+package com.qisumei.csgo.util;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TickHistogram 测试类
+ * 测试分桶、分位数与重置逻辑（纯Java类，无Minecraft依赖）
+ */
+@DisplayName("TickHistogram Tests")
+class TickHistogramTest {
+
+    private TickHistogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        histogram = new TickHistogram();
+    }
+
+    @Test
+    @DisplayName("没有样本时分位数和最大值应该为0")
+    void testEmptyHistogram() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.percentile(0.5));
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getMean());
+    }
+
+    @Test
+    @DisplayName("小于8纳秒的值应该被精确记录")
+    void testSmallValuesAreExact() {
+        histogram.record(3);
+        assertEquals(3, histogram.percentile(0.5));
+        assertEquals(3, histogram.getMax());
+    }
+
+    @Test
+    @DisplayName("分位数的相对误差应该不超过12.5%")
+    void testPercentileAccuracy() {
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L);
+        }
+        long p50 = histogram.percentile(0.50);
+        long p99 = histogram.percentile(0.99);
+
+        assertTrue(Math.abs(p50 - 500_000L) <= 500_000L / 8, "p50 应该接近 500µs，实际: " + p50);
+        assertTrue(Math.abs(p99 - 990_000L) <= 990_000L / 8, "p99 应该接近 990µs，实际: " + p99);
+        assertEquals(1_000_000L, histogram.getMax(), "最大值应该精确记录");
+        assertEquals(1000, histogram.getCount());
+    }
+
+    @Test
+    @DisplayName("分位数不应该超过记录到的最大值")
+    void testPercentileCappedByMax() {
+        histogram.record(1_000_001L);
+        assertEquals(1_000_001L, histogram.percentile(1.0));
+    }
+
+    @Test
+    @DisplayName("负值应该按0处理")
+    void testNegativeValue() {
+        histogram.record(-5);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    @DisplayName("每个值都应该落在其桶的上界之内")
+    void testBucketBounds() {
+        long[] samples = {0, 7, 8, 15, 16, 17, 1023, 1024, 123_456_789L, Long.MAX_VALUE};
+        for (long value : samples) {
+            int index = TickHistogram.indexOf(value);
+            assertTrue(value <= TickHistogram.upperBoundOf(index), "值 " + value + " 超出了桶上界");
+            if (index > 0) {
+                assertTrue(value > TickHistogram.upperBoundOf(index - 1), "值 " + value + " 应该大于前一个桶的上界");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("reset 应该清空所有样本")
+    void testReset() {
+        histogram.record(42);
+        histogram.record(4242);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.percentile(0.99));
+    }
+}
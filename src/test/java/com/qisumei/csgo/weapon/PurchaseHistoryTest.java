@@ -0,0 +1,96 @@
+package com.qisumei.csgo.weapon;
+
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PurchaseHistory 测试类
+ * 测试按武器序号记录的购买次数、购买上限与清空（纯Java类，无Minecraft依赖）
+ */
+@DisplayName("PurchaseHistory Tests")
+class PurchaseHistoryTest {
+
+    private WeaponDefinition grenade;
+    private WeaponDefinition rifle;
+    private PurchaseHistory history;
+
+    @BeforeEach
+    void setUp() {
+        WeaponRegistry.clear();
+        grenade = new WeaponDefinition.Builder("test:he", "HE", WeaponType.GRENADE).build();
+        rifle = new WeaponDefinition.Builder("test:ak47", "AK-47", WeaponType.RIFLE).build();
+        WeaponRegistry.register(grenade);
+        WeaponRegistry.register(rifle);
+        history = new PurchaseHistory();
+    }
+
+    @AfterEach
+    void tearDown() {
+        WeaponRegistry.clear();
+    }
+
+    @Test
+    @DisplayName("注册时应该分配连续的序号")
+    void testOrdinalsAreDense() {
+        assertEquals(0, grenade.getOrdinal());
+        assertEquals(1, rifle.getOrdinal());
+        assertSame(rifle, WeaponRegistry.getWeaponByOrdinal(1));
+
+        WeaponDefinition replacement = new WeaponDefinition.Builder("test:he", "HE 2", WeaponType.GRENADE).build();
+        WeaponRegistry.register(replacement);
+        assertEquals(0, replacement.getOrdinal(), "覆盖注册应该沿用原序号");
+        assertEquals(2, WeaponRegistry.getWeaponCount());
+    }
+
+    @Test
+    @DisplayName("投掷物默认只能购买一次，其他武器不限")
+    void testDefaultLimits() {
+        assertFalse(history.isAtLimit(grenade));
+        assertEquals(1, history.record(grenade));
+        assertTrue(history.isAtLimit(grenade));
+        assertTrue(history.hasPurchased(grenade));
+
+        for (int i = 0; i < 5; i++) history.record(rifle);
+        assertEquals(5, history.getCount(rifle));
+        assertFalse(history.isAtLimit(rifle));
+        assertEquals(2, history.getDistinctCount());
+    }
+
+    @Test
+    @DisplayName("自定义购买上限应该生效")
+    void testCustomLimit() {
+        WeaponDefinition flash = new WeaponDefinition.Builder("test:flash", "Flash", WeaponType.GRENADE)
+            .purchaseLimit(2)
+            .build();
+        WeaponRegistry.register(flash);
+
+        history.record(flash);
+        assertFalse(history.isAtLimit(flash));
+        history.record(flash);
+        assertTrue(history.isAtLimit(flash));
+    }
+
+    @Test
+    @DisplayName("未注册的武器不受限制也不被记录")
+    void testUnregisteredWeaponIgnored() {
+        WeaponDefinition loose = new WeaponDefinition.Builder("test:loose", "Loose", WeaponType.GRENADE).build();
+        assertEquals(-1, loose.getOrdinal());
+        assertEquals(0, history.record(loose));
+        assertFalse(history.isAtLimit(loose));
+        assertFalse(history.hasPurchased(loose));
+    }
+
+    @Test
+    @DisplayName("clear应该重置所有购买记录")
+    void testClear() {
+        history.record(grenade);
+        history.record(rifle);
+        history.clear();
+
+        assertEquals(0, history.getCount(grenade));
+        assertEquals(0, history.getCount(rifle));
+        assertFalse(history.isAtLimit(grenade));
+        assertEquals(0, history.getDistinctCount());
+    }
+}